@@ -0,0 +1,37 @@
+package com.processapi.rest.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the selected benchmarks at 1, 2, 4, ... threads up to {@code maxThreads}, with the GC
+ * profiler so that every result reports allocation per operation. Results for each thread count
+ * are written to {@code jmh-<threads>t.json}.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.processapi.rest.benchmark.BenchmarkRunner [include-regex] [maxThreads]}
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*";
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+            Options options = new OptionsBuilder()
+                .include(include)
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-" + threads + "t.json")
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.circuitbreaker.CircuitBreakerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Overhead a closed breaker adds to a successful call: permission check plus recording the
+ * outcome in the sliding window.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+    private static final Supplier<String> OPERATION = () -> "ok";
+    private static final CompletableFuture<String> COMPLETED = CompletableFuture.completedFuture("ok");
+    private static final Supplier<CompletableFuture<String>> ASYNC_OPERATION = () -> COMPLETED;
+
+    private CircuitBreaker circuitBreaker;
+
+    @Setup
+    public void setUp() {
+        circuitBreaker = new CircuitBreaker("bench", new CircuitBreakerConfig(), null);
+    }
+
+    @Benchmark
+    public String execute() {
+        return circuitBreaker.execute(OPERATION);
+    }
+
+    @Benchmark
+    public CompletableFuture<String> executeAsync() {
+        return circuitBreaker.executeAsync(ASYNC_OPERATION);
+    }
+}
@@ -0,0 +1,185 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.autoconfigure.RestClientAutoConfiguration;
+import com.processapi.rest.client.RestClientBase;
+import com.processapi.rest.client.RestClientFactory;
+import com.processapi.rest.ratelimit.ConcurrencyLimitExceededException;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The adaptive concurrency limiter against a fixed limit, on a server whose service time rises
+ * from {@value #START_MILLIS} ms to {@value #END_MILLIS} ms over each iteration. The server has
+ * {@value #WORKERS} workers and queues the rest, so every admitted call beyond that waits behind
+ * the others. Each operation is a round of {@code callers} concurrent async calls. The counters
+ * split the calls into those answered within {@value #SLO_MILLIS} ms, those answered later,
+ * those the limiter rejected and those that failed.
+ * <p>
+ * {@code FIXED} runs the same limiter with its limit pinned at {@value #LIMIT}. That limit suits
+ * the server at the start, but later it lets a queue build up at the server. {@code ADAPTIVE}
+ * starts at the same limit and may move it. Compare {@code withinSlo} between the two.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DegradingServerBenchmark {
+    private static final byte[] RESPONSE_BODY = "{\"id\":42,\"status\":\"SHIPPED\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int WORKERS = 16;
+    private static final int LIMIT = 64;
+    private static final long START_MILLIS = 2;
+    private static final long END_MILLIS = 20;
+    private static final long SLO_MILLIS = 50;
+    private static final long SLO_NANOS = TimeUnit.MILLISECONDS.toNanos(SLO_MILLIS);
+    private static final long RAMP_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long REJECTED = -1;
+    private static final long FAILED = -2;
+
+    @Param({"ADAPTIVE", "FIXED"})
+    public String limiter;
+
+    @Param({"128"})
+    public int callers;
+
+    private final Semaphore workers = new Semaphore(WORKERS, true);
+    private volatile long degradingSince;
+    private HttpServer server;
+    private ConfigurableApplicationContext context;
+    private RestClientBase client;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long withinSlo;
+        public long late;
+        public long rejected;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            withinSlo = 0;
+            late = 0;
+            rejected = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext("/orders", exchange -> {
+            try {
+                workers.acquire();
+                try {
+                    Thread.sleep(serviceTime());
+                } finally {
+                    workers.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE_BODY);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        List<String> properties = new ArrayList<>(List.of(
+            "rest-client.rate-limit.enabled=false",
+            "rest-client.adaptive-limit.enabled=true",
+            "rest-client.adaptive-limit.initial-limit=" + LIMIT,
+            "rest-client.clients.bench.base-url=http://127.0.0.1:" + server.getAddress().getPort(),
+            "rest-client.clients.bench.connection-pool.max-total=256",
+            "rest-client.clients.bench.connection-pool.default-max-per-route=256",
+            "logging.level.com.processapi.rest=WARN"));
+        if (limiter.equals("FIXED")) {
+            properties.add("rest-client.adaptive-limit.min-limit=" + LIMIT);
+            properties.add("rest-client.adaptive-limit.max-limit=" + LIMIT);
+        }
+        context = new SpringApplicationBuilder(RestClientAutoConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .properties(properties.toArray(new String[0]))
+            .run();
+        client = context.getBean(RestClientFactory.class).createClient("bench");
+    }
+
+    @Setup(Level.Iteration)
+    public void startDegrading() {
+        degradingSince = System.nanoTime();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void round(Outcomes outcomes) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> calls = new ArrayList<>(callers);
+        for (int i = 0; i < callers; i++) {
+            calls.add(client.getAsync("/orders/42", String.class)
+                .handle((body, error) -> error == null ? System.nanoTime() - start
+                    : isRejection(error) ? REJECTED : FAILED));
+        }
+        for (CompletableFuture<Long> call : calls) {
+            long elapsed = call.join();
+            if (elapsed == REJECTED) {
+                outcomes.rejected++;
+            } else if (elapsed == FAILED) {
+                outcomes.failed++;
+            } else if (elapsed <= SLO_NANOS) {
+                outcomes.withinSlo++;
+            } else {
+                outcomes.late++;
+            }
+        }
+    }
+
+    private Duration serviceTime() {
+        double progress = Math.min(1.0, (double) (System.nanoTime() - degradingSince) / RAMP_NANOS);
+        return Duration.ofNanos(TimeUnit.MILLISECONDS.toNanos(START_MILLIS)
+            + (long) (progress * TimeUnit.MILLISECONDS.toNanos(END_MILLIS - START_MILLIS)));
+    }
+
+    private static boolean isRejection(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof ConcurrencyLimitExceededException;
+    }
+}
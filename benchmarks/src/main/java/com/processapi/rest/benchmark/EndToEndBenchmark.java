@@ -0,0 +1,100 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.autoconfigure.RestClientAutoConfiguration;
+import com.processapi.rest.client.RestClientBase;
+import com.processapi.rest.client.RestClientFactory;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full request through a client built by the auto-configuration, against an HTTP server on
+ * the loopback interface in the same JVM. Covers everything the library does per call, from
+ * admission control to body mapping, plus real socket I/O and connection pooling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    private static final byte[] RESPONSE_BODY = "{\"id\":42,\"status\":\"SHIPPED\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"ASYNC", "VIRTUAL_THREADS"})
+    public String executionMode;
+
+    @Param({"false", "true"})
+    public boolean logging;
+
+    private HttpServer server;
+    private ConfigurableApplicationContext context;
+    private RestClientBase client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext("/orders", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE_BODY);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        context = new SpringApplicationBuilder(RestClientAutoConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "rest-client.rate-limit.enabled=false",
+                "rest-client.clients.bench.base-url=http://127.0.0.1:" + server.getAddress().getPort(),
+                "rest-client.clients.bench.execution-mode=" + executionMode,
+                "rest-client.clients.bench.interceptors.enable-logging=" + logging,
+                "rest-client.clients.bench.connection-pool.max-total=256",
+                "rest-client.clients.bench.connection-pool.default-max-per-route=256",
+                "rest-client.logging.sample-rate=0.01",
+                "logging.level.com.processapi.rest=WARN",
+                // The exchange log writer only runs while INFO is enabled for it
+                "logging.level.com.processapi.rest.logging.AsyncLogWriter=INFO")
+            .run();
+        client = context.getBean(RestClientFactory.class).createClient("bench");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String get() {
+        return client.get("/orders/42", String.class);
+    }
+
+    @Benchmark
+    public String getAsync() {
+        return client.getAsync("/orders/42", String.class).join();
+    }
+}
@@ -0,0 +1,177 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.config.RetryConfig;
+import com.processapi.rest.interceptor.InterceptorPipeline;
+import com.processapi.rest.interceptor.MetricsInterceptor;
+import com.processapi.rest.interceptor.RetryInterceptor;
+import com.processapi.rest.interceptor.SampledLoggingInterceptor;
+import com.processapi.rest.interceptor.TimeoutInterceptor;
+import com.processapi.rest.logging.AsyncLogWriter;
+import com.processapi.rest.logging.LoggingConfig;
+import com.processapi.rest.metrics.MetricsConfig;
+import com.processapi.rest.metrics.RestClientMetrics;
+import com.processapi.rest.retry.RetryBudget;
+import com.processapi.rest.timeout.TimeoutManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The interceptor chain {@code RestClientConfig} builds for a client, metrics, retry, sampled
+ * logging and timeout tracking, in front of a transport that answers immediately, so the result
+ * is the chain's own cost per request. {@code logSampleRate} {@code off} leaves the logging stage
+ * out; 0 keeps it in the chain without sampling anything. {@code chain} compares the
+ * precompiled {@link InterceptorPipeline} the clients use with Spring's interceptor chain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+    private static final URI ORDER_URI = URI.create("http://localhost/orders/42");
+    private static final byte[] RESPONSE_BODY = "{\"id\":42,\"status\":\"SHIPPED\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"off", "0", "0.01", "1"})
+    public String logSampleRate;
+
+    @Param({"pipeline", "spring"})
+    public String chain;
+
+    private AsyncLogWriter logWriter;
+    private ClientHttpRequestFactory requestFactory;
+
+    @Setup
+    public void setUp() {
+        RetryConfig retryConfig = new RetryConfig();
+        LoggingConfig loggingConfig = new LoggingConfig();
+        boolean logging = !"off".equals(logSampleRate);
+        if (logging) {
+            loggingConfig.setSampleRate(Double.parseDouble(logSampleRate));
+        }
+        logWriter = new AsyncLogWriter(loggingConfig.getQueueCapacity());
+        RestClientMetrics metrics = new RestClientMetrics(new SimpleMeterRegistry(), new MetricsConfig());
+
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(new MetricsInterceptor(metrics.getClientMetrics("bench")));
+        interceptors.add(new RetryInterceptor(retryConfig,
+            new RetryBudget(retryConfig.getBudgetRatio(), retryConfig.getBudgetMaxRetries())));
+        if (logging) {
+            interceptors.add(new SampledLoggingInterceptor("bench", loggingConfig, logWriter));
+        }
+        interceptors.add(new TimeoutInterceptor(
+            new TimeoutManager(Duration.ofSeconds(30), 99.0, 0.5, Duration.ofMillis(100), Duration.ofSeconds(60))));
+        requestFactory = "pipeline".equals(chain)
+            ? new InterceptorPipeline(StubRequest::new, interceptors)
+            : new InterceptingClientHttpRequestFactory(StubRequest::new, interceptors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logWriter.destroy();
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) throws IOException {
+        ClientHttpRequest request = requestFactory.createRequest(ORDER_URI, HttpMethod.GET);
+        try (ClientHttpResponse response = request.execute(); InputStream body = response.getBody()) {
+            blackhole.consume(body.readAllBytes());
+        }
+    }
+
+    private static final class StubRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+
+        StubRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new StubResponse();
+        }
+    }
+
+    private static final class StubResponse implements ClientHttpResponse {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        StubResponse() {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(RESPONSE_BODY.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(200);
+        }
+
+        @Override
+        public String getStatusText() {
+            return "OK";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(RESPONSE_BODY);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.ratelimit.AdaptiveConcurrencyLimiter;
+import com.processapi.rest.ratelimit.AdaptiveLimiterConfig;
+import com.processapi.rest.ratelimit.RateLimiter;
+import com.processapi.rest.ratelimit.RateLimiterConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission cost of the token bucket and the adaptive concurrency limiter. {@code sharedBucket}
+ * has every thread contend on one client's bucket; {@code ownBucket} gives each thread its own
+ * client, isolating the per-call cost from CAS contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final String CLIENT = "bench";
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    private RateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @State(Scope.Thread)
+    public static class ThreadClient {
+        String clientName;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            clientName = CLIENT + "-" + benchmark.threadIds.incrementAndGet();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimiterConfig rateLimiterConfig = new RateLimiterConfig();
+        // One permit per nanosecond: the bucket never runs dry, so only the admission path is measured
+        rateLimiterConfig.setPermitsPerSecond(1_000_000_000);
+        rateLimiter = new RateLimiter(rateLimiterConfig);
+
+        AdaptiveLimiterConfig limiterConfig = new AdaptiveLimiterConfig();
+        limiterConfig.setEnabled(true);
+        limiterConfig.setInitialLimit(10_000);
+        limiterConfig.setMaxLimit(10_000);
+        limiterConfig.setMinLimit(10_000);
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(limiterConfig);
+    }
+
+    @Benchmark
+    public void sharedBucket() {
+        rateLimiter.checkRateLimit(CLIENT);
+    }
+
+    @Benchmark
+    public void ownBucket(ThreadClient client) {
+        rateLimiter.checkRateLimit(client.clientName);
+    }
+
+    @Benchmark
+    public void concurrencyLimiterAcquireRelease() {
+        concurrencyLimiter.acquire(CLIENT).onSuccess();
+    }
+}
@@ -0,0 +1,62 @@
+package com.processapi.rest.benchmark;
+
+import com.processapi.rest.timeout.TimeoutManager;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency recording and timeout lookup, the two calls every request makes on its
+ * {@link TimeoutManager}. {@code operations} spreads the calls over that many operation keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeoutManagerBenchmark {
+    private static final Duration[] LATENCIES = {
+        Duration.ofMillis(3), Duration.ofMillis(8), Duration.ofMillis(15), Duration.ofMillis(40), Duration.ofMillis(120)
+    };
+
+    @Param({"1", "100"})
+    public int operations;
+
+    private TimeoutManager timeoutManager;
+    private String[] operationKeys;
+
+    @Setup
+    public void setUp() {
+        timeoutManager = new TimeoutManager(Duration.ofSeconds(30), 99.0, 0.5, Duration.ofMillis(100), Duration.ofSeconds(60));
+        operationKeys = new String[operations];
+        for (int i = 0; i < operations; i++) {
+            operationKeys[i] = "GET /resources/" + i;
+        }
+    }
+
+    @Benchmark
+    public void recordOperation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        timeoutManager.recordOperation(operationKeys[random.nextInt(operations)],
+            LATENCIES[random.nextInt(LATENCIES.length)], false);
+    }
+
+    @Benchmark
+    public RequestConfig getRequestConfig() {
+        return timeoutManager.getRequestConfig(operationKeys[ThreadLocalRandom.current().nextInt(operations)]);
+    }
+}
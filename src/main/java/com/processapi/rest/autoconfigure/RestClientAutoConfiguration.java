@@ -1,19 +1,160 @@
 package com.processapi.rest.autoconfigure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processapi.rest.body.BodyBufferConfig;
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.bulkhead.BulkheadFactory;
+import com.processapi.rest.cache.ResponseCacheFactory;
+import com.processapi.rest.circuitbreaker.CircuitBreakerConfig;
+import com.processapi.rest.circuitbreaker.CircuitBreakerFactory;
 import com.processapi.rest.client.RestClientFactory;
+import com.processapi.rest.codec.CodecFactory;
+import com.processapi.rest.compression.CompressionFactory;
+import com.processapi.rest.config.RestClientConfig;
 import com.processapi.rest.config.RestClientProperties;
+import com.processapi.rest.config.RetryConfig;
+import com.processapi.rest.loadbalancer.LoadBalancerFactory;
+import com.processapi.rest.logging.AsyncLogWriter;
+import com.processapi.rest.logging.LoggingConfig;
+import com.processapi.rest.metrics.MetricsConfig;
+import com.processapi.rest.metrics.RestClientMetrics;
+import com.processapi.rest.ratelimit.AdaptiveConcurrencyLimiter;
+import com.processapi.rest.ratelimit.AdaptiveLimiterConfig;
+import com.processapi.rest.ratelimit.RateLimiter;
+import com.processapi.rest.ratelimit.RateLimiterConfig;
+import com.processapi.rest.retry.RetryBudgetFactory;
+import com.processapi.rest.timeout.TimeoutConfig;
+import com.processapi.rest.timeout.TimeoutManagerFactory;
+import com.processapi.rest.util.CertificateLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 
 @Configuration
-@EnableConfigurationProperties(RestClientProperties.class)
+@EnableConfigurationProperties({
+    RestClientProperties.class,
+    RateLimiterConfig.class,
+    AdaptiveLimiterConfig.class,
+    CircuitBreakerConfig.class,
+    RetryConfig.class,
+    TimeoutConfig.class,
+    LoggingConfig.class,
+    MetricsConfig.class,
+    BodyBufferConfig.class
+})
+@Import(RestClientConfig.class)
 public class RestClientAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public RestClientFactory restClientFactory(RestClientProperties properties) {
-        return new RestClientFactory(properties);
+    public CertificateLogger certificateLogger() {
+        return new CertificateLogger();
     }
-} 
\ No newline at end of file
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimiter rateLimiter(RateLimiterConfig config) {
+        return new RateLimiter(config);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdaptiveLimiterConfig config) {
+        return new AdaptiveConcurrencyLimiter(config);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CircuitBreakerFactory circuitBreakerFactory() {
+        return new CircuitBreakerFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkheadFactory bulkheadFactory() {
+        return new BulkheadFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TimeoutManagerFactory timeoutManagerFactory() {
+        return new TimeoutManagerFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RetryBudgetFactory retryBudgetFactory() {
+        return new RetryBudgetFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ResponseCacheFactory responseCacheFactory() {
+        return new ResponseCacheFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CompressionFactory compressionFactory() {
+        return new CompressionFactory();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CodecFactory codecFactory(ObjectProvider<ObjectMapper> objectMapper, BeanFactory beanFactory) {
+        return new CodecFactory(objectMapper.getIfAvailable(ObjectMapper::new), beanFactory);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoadBalancerFactory loadBalancerFactory(CircuitBreakerFactory circuitBreakerFactory,
+                                                   CircuitBreakerConfig circuitBreakerConfig) {
+        return new LoadBalancerFactory(circuitBreakerFactory, circuitBreakerConfig);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BufferPool bodyBufferPool(BodyBufferConfig config) {
+        return new BufferPool(config.getChunkSize(), config.getMaxPooled(), config.isDirect());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncLogWriter asyncLogWriter(LoggingConfig config) {
+        return new AsyncLogWriter(config.getQueueCapacity());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestClientMetrics restClientMetrics(MetricsConfig config, ObjectProvider<MeterRegistry> meterRegistry,
+                                               AsyncLogWriter asyncLogWriter, BufferPool bodyBufferPool) {
+        RestClientMetrics metrics = new RestClientMetrics(
+            config.isEnabled() ? meterRegistry.getIfAvailable(() -> Metrics.globalRegistry) : null, config);
+        metrics.bindLogWriter(asyncLogWriter);
+        metrics.bindBufferPool(bodyBufferPool);
+        return metrics;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RestClientFactory restClientFactory(RestClientProperties properties, RestClientConfig restClientConfig,
+                                               RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                               CircuitBreakerFactory circuitBreakerFactory,
+                                               BulkheadFactory bulkheadFactory,
+                                               CircuitBreakerConfig circuitBreakerConfig, RetryConfig retryConfig,
+                                               RetryBudgetFactory retryBudgetFactory,
+                                               TimeoutConfig timeoutConfig, TimeoutManagerFactory timeoutManagerFactory,
+                                               RestClientMetrics restClientMetrics,
+                                               CompressionFactory compressionFactory, BufferPool bodyBufferPool,
+                                               CodecFactory codecFactory) {
+        return new RestClientFactory(properties, restClientConfig, rateLimiter, concurrencyLimiter, circuitBreakerFactory,
+            bulkheadFactory, circuitBreakerConfig, retryConfig, retryBudgetFactory, timeoutConfig,
+            timeoutManagerFactory, restClientMetrics, compressionFactory, bodyBufferPool, codecFactory);
+    }
+}
@@ -0,0 +1,25 @@
+package com.processapi.rest.batch;
+
+import java.util.List;
+
+/**
+ * Maps single items onto a batch endpoint's request and response.
+ *
+ * @param <I> item submitted by callers
+ * @param <O> result returned to each caller
+ * @param <B> response body of the batch endpoint
+ */
+public interface BatchMapping<I, O, B> {
+
+    /**
+     * Builds the body of the batch request for {@code items}.
+     */
+    Object toRequest(List<I> items);
+
+    Class<B> responseType();
+
+    /**
+     * Splits the batch response into one result per item, in the order of {@code items}.
+     */
+    List<O> fromResponse(List<I> items, B response);
+}
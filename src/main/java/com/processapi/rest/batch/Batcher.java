@@ -0,0 +1,147 @@
+package com.processapi.rest.batch;
+
+import com.processapi.rest.client.RestClientBase;
+import com.processapi.rest.exception.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects items submitted one at a time into calls to a batch endpoint. A batch is sent when it
+ * reaches {@code maxBatchSize} items or when its first item has waited {@code maxLinger}; the
+ * response is split back into one result per item and completes that item's future. If the batch
+ * call fails, every item in it fails with the same error.
+ */
+@Slf4j
+public class Batcher<I, O, B> {
+    private final String clientName;
+    private final String path;
+    private final Function<Object, CompletableFuture<B>> post;
+    private final BatchMapping<I, O, B> mapping;
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<I, O> current;
+
+    public Batcher(RestClientBase client, String path, BatchMapping<I, O, B> mapping, int maxBatchSize,
+                   Duration maxLinger) {
+        this(client.getClientName(), path, request -> client.postAsync(path, request, mapping.responseType()),
+            mapping, maxBatchSize, maxLinger);
+    }
+
+    Batcher(String clientName, String path, Function<Object, CompletableFuture<B>> post,
+            BatchMapping<I, O, B> mapping, int maxBatchSize, Duration maxLinger) {
+        this.clientName = clientName;
+        this.path = path;
+        this.post = post;
+        this.mapping = mapping;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxLinger = maxLinger;
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        Batch<I, O> full = null;
+        lock.lock();
+        try {
+            if (current == null) {
+                Batch<I, O> batch = new Batch<>();
+                current = batch;
+                CompletableFuture.delayedExecutor(maxLinger.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flush(batch));
+            }
+            current.items.add(item);
+            current.results.add(result);
+            if (current.items.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    /**
+     * Sends the pending batch now instead of waiting for it to fill or linger out.
+     */
+    public void flush() {
+        lock.lock();
+        Batch<I, O> batch;
+        try {
+            batch = current;
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    private void flush(Batch<I, O> batch) {
+        lock.lock();
+        try {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        send(batch);
+    }
+
+    private void send(Batch<I, O> batch) {
+        log.debug("Sending batch of {} items to {} {}", batch.items.size(), clientName, path);
+        CompletableFuture<B> response;
+        try {
+            response = post.apply(mapping.toRequest(batch.items));
+        } catch (RuntimeException e) {
+            batch.fail(e);
+            return;
+        }
+
+        response.whenComplete((body, error) -> {
+            if (error != null) {
+                batch.fail(error);
+                return;
+            }
+            List<O> results;
+            try {
+                results = mapping.fromResponse(batch.items, body);
+            } catch (RuntimeException e) {
+                batch.fail(e);
+                return;
+            }
+            if (results == null || results.size() != batch.items.size()) {
+                batch.fail(new RestClientException(clientName, String.format(
+                    "Batch response for %s had %d results for %d items", path,
+                    results == null ? 0 : results.size(), batch.items.size())));
+                return;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                batch.results.get(i).complete(results.get(i));
+            }
+        });
+    }
+
+    private static class Batch<I, O> {
+        private final List<I> items = new ArrayList<>();
+        private final List<CompletableFuture<O>> results = new ArrayList<>();
+
+        void fail(Throwable error) {
+            results.forEach(result -> result.completeExceptionally(error));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.processapi.rest.body;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client.body-buffers")
+public class BodyBufferConfig {
+    private int chunkSize = 16 * 1024; // Bodies are written into buffers of this size (bytes)
+    private int maxPooled = 512; // Buffers kept for reuse; further ones are garbage collected
+    private boolean direct = true; // Off-heap buffers, written to the socket without an extra copy
+}
@@ -0,0 +1,61 @@
+package com.processapi.rest.body;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of fixed-size buffers that request bodies are written into. Direct buffers can be
+ * handed to the socket without the JDK first copying them into a temporary direct buffer.
+ * Buffers returned while the pool is full are left to the garbage collector.
+ */
+public class BufferPool {
+    private final int chunkSize;
+    private final boolean direct;
+    private final Queue<ByteBuffer> free;
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final LongAdder allocatedCount = new LongAdder();
+
+    public BufferPool(int chunkSize, int maxPooled, boolean direct) {
+        this.chunkSize = chunkSize;
+        this.direct = direct;
+        this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    public ByteBuffer acquire() {
+        inUse.incrementAndGet();
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            allocatedCount.increment();
+            return direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+        }
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        inUse.decrementAndGet();
+        buffer.clear();
+        free.offer(buffer);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getPooledCount() {
+        return free.size();
+    }
+
+    public int getInUseCount() {
+        return inUse.get();
+    }
+
+    /**
+     * Buffers allocated because none were pooled; steadily rising means the pool is too small.
+     */
+    public long getAllocatedCount() {
+        return allocatedCount.sum();
+    }
+}
@@ -0,0 +1,127 @@
+package com.processapi.rest.body;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A request body held in buffers from a {@link BufferPool}. It is written once through
+ * {@link #outputStream()} and can then be sent any number of times, for retries or hedged
+ * copies, by entity producers that read views of the same buffers rather than copies. The body
+ * is reference counted: each exchange sending it {@link #retain() retains} it for its duration,
+ * and the buffers go back to the pool when the owner and every exchange have released it.
+ */
+public final class PooledBody implements Closeable {
+    private final BufferPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    private long size;
+
+    private PooledBody(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    public static PooledBody allocate(BufferPool pool) {
+        return new PooledBody(pool);
+    }
+
+    /**
+     * Returns a body backed by {@code bytes} without copying them; it cannot be written to.
+     */
+    public static PooledBody wrap(byte[] bytes) {
+        PooledBody body = new PooledBody(null);
+        body.chunks.add(ByteBuffer.wrap(bytes).position(bytes.length));
+        body.size = bytes.length;
+        return body;
+    }
+
+    /**
+     * Returns a stream appending to this body, taking buffers from the pool as they fill up.
+     */
+    public OutputStream outputStream() {
+        if (pool == null) {
+            throw new IllegalStateException("Wrapped bodies cannot be written to");
+        }
+        return new BodyOutputStream();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns read-only views of the written bytes. Each call returns new views, so readers do
+     * not disturb each other.
+     */
+    public ByteBuffer[] views() {
+        ByteBuffer[] views = new ByteBuffer[chunks.size()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = chunks.get(i).asReadOnlyBuffer().flip();
+        }
+        return views;
+    }
+
+    /**
+     * Returns a repeatable producer that writes this body to the channel from its buffers. The
+     * caller must hold a reference to the body until the exchange using the producer is over.
+     */
+    public AsyncEntityProducer entityProducer(ContentType contentType, String contentEncoding) {
+        return new PooledEntityProducer(this, contentType, contentEncoding);
+    }
+
+    public PooledBody retain() {
+        refCount.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Drops a reference; the last one returns the buffers to the pool.
+     */
+    public void release() {
+        if (refCount.decrementAndGet() == 0 && pool != null) {
+            chunks.forEach(pool::release);
+            chunks.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private ByteBuffer writable() {
+        ByteBuffer last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null || !last.hasRemaining()) {
+            last = pool.acquire();
+            chunks.add(last);
+        }
+        return last;
+    }
+
+    private final class BodyOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            writable().put((byte) b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                ByteBuffer chunk = writable();
+                int n = Math.min(len, chunk.remaining());
+                chunk.put(b, off, n);
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.processapi.rest.body;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * Writes a {@link PooledBody} to the channel straight from its buffers. {@code releaseResources}
+ * rewinds the producer so the client can send it again, for example after a redirect.
+ */
+final class PooledEntityProducer implements AsyncEntityProducer {
+    private final PooledBody body;
+    private final ContentType contentType;
+    private final String contentEncoding;
+    private ByteBuffer[] views;
+    private int index;
+
+    PooledEntityProducer(PooledBody body, ContentType contentType, String contentEncoding) {
+        this.body = body;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType != null ? contentType.toString() : null;
+    }
+
+    @Override
+    public long getContentLength() {
+        return body.size();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return null;
+    }
+
+    @Override
+    public int available() {
+        if (views == null) {
+            return (int) Math.min(Integer.MAX_VALUE, body.size());
+        }
+        long remaining = 0;
+        for (int i = index; i < views.length; i++) {
+            remaining += views[i].remaining();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    @Override
+    public void produce(DataStreamChannel channel) throws IOException {
+        if (views == null) {
+            views = body.views();
+            index = 0;
+        }
+        while (index < views.length) {
+            ByteBuffer view = views[index];
+            if (view.hasRemaining()) {
+                channel.write(view);
+                if (view.hasRemaining()) {
+                    // The channel is full; produce is called again once it can take more
+                    return;
+                }
+            }
+            index++;
+        }
+        channel.endStream();
+    }
+
+    @Override
+    public void failed(Exception cause) {
+    }
+
+    @Override
+    public void releaseResources() {
+        views = null;
+    }
+}
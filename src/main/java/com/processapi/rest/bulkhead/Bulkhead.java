@@ -0,0 +1,188 @@
+package com.processapi.rest.bulkhead;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of concurrent calls for a single client. Callers that find no free permit
+ * wait in a bounded queue for up to {@code maxWait}; once the queue is full they are rejected
+ * immediately with {@link BulkheadFullException}. Blocking and async callers share one FIFO
+ * queue, and a completing call hands its permit to the oldest waiter of either kind. Async
+ * callers queue without a thread: they are given a future that completes on the handover.
+ */
+@Slf4j
+public class Bulkhead {
+    private final String name;
+    private final boolean enabled;
+    private final int maxConcurrentCalls;
+    private final int maxQueueDepth;
+    private final Duration maxWait;
+    private final Semaphore permits;
+
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+
+    public Bulkhead(String name, boolean enabled, int maxConcurrentCalls, int maxQueueDepth, Duration maxWait) {
+        this.name = name;
+        this.enabled = enabled;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public <T> T execute(Supplier<T> operation) {
+        acquirePermission();
+        try {
+            return operation.get();
+        } finally {
+            releasePermission();
+        }
+    }
+
+    /**
+     * Acquires a permit, waiting in the queue if necessary.
+     *
+     * @throws BulkheadFullException if the queue is full or no permit frees up within the wait time
+     */
+    public void acquirePermission() {
+        if (!enabled || permits.tryAcquire()) {
+            return;
+        }
+
+        CompletableFuture<Void> waiter = enqueue();
+        if (waiter == null) {
+            throw reject();
+        }
+        try {
+            waiter.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (abandon(waiter)) {
+                throw reject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!abandon(waiter)) {
+                releasePermission();
+            }
+            throw reject();
+        } catch (ExecutionException e) {
+            throw reject();
+        }
+    }
+
+    /**
+     * Acquires a permit without blocking. The future completes once the caller holds a permit, or
+     * fails with {@link BulkheadFullException} if the queue is full or no permit is handed over
+     * within the wait time.
+     */
+    public CompletableFuture<Void> acquirePermissionAsync() {
+        if (!enabled || permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = enqueue();
+        if (waiter == null) {
+            return CompletableFuture.failedFuture(reject());
+        }
+        if (!waiter.isDone()) {
+            CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+                if (abandon(waiter)) {
+                    long rejected = rejectedCount.incrementAndGet();
+                    log.debug("Bulkhead wait timed out for {}, {} calls rejected so far", name, rejected);
+                }
+            });
+        }
+        return waiter;
+    }
+
+    /**
+     * Releases a permit, handing it straight to the oldest queued caller if there is one.
+     */
+    public void releasePermission() {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture<Void> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Queues a waiter for a released permit, or returns {@code null} if the queue is full.
+     */
+    private CompletableFuture<Void> enqueue() {
+        if (queueDepth.incrementAndGet() > maxQueueDepth) {
+            queueDepth.decrementAndGet();
+            return null;
+        }
+
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiter.whenComplete((ignored, error) -> queueDepth.decrementAndGet());
+        waiters.add(waiter);
+        // A permit released between the first tryAcquire and queueing went to the semaphore;
+        // pass it on to whoever is oldest in the queue now
+        if (permits.tryAcquire()) {
+            releasePermission();
+        }
+        return waiter;
+    }
+
+    /**
+     * Withdraws a waiter that gave up. Returns {@code false} if a permit was handed to it first,
+     * in which case the caller holds that permit.
+     */
+    private boolean abandon(CompletableFuture<Void> waiter) {
+        if (waiter.completeExceptionally(new BulkheadFullException(name, maxConcurrentCalls, maxQueueDepth))) {
+            waiters.remove(waiter);
+            return true;
+        }
+        return false;
+    }
+
+    public BulkheadFullException reject() {
+        long rejected = rejectedCount.incrementAndGet();
+        log.debug("Bulkhead full for {}, {} calls rejected so far", name, rejected);
+        return new BulkheadFullException(name, maxConcurrentCalls, maxQueueDepth);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
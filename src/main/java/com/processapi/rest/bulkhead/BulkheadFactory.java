@@ -0,0 +1,37 @@
+package com.processapi.rest.bulkhead;
+
+import com.processapi.rest.config.RestClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class BulkheadFactory {
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public Bulkhead getBulkhead(String name, RestClientProperties.BulkheadConfig config) {
+        return bulkheads.computeIfAbsent(name, k -> {
+            log.info("Creating bulkhead for: {}", name);
+            return new Bulkhead(
+                name,
+                config.isEnabled(),
+                config.getMaxConcurrentCalls(),
+                config.getMaxQueueDepth(),
+                Duration.ofMillis(config.getMaxWaitDuration())
+            );
+        });
+    }
+
+    public Map<String, Bulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    public void removeBulkhead(String name) {
+        bulkheads.remove(name);
+    }
+}
@@ -0,0 +1,18 @@
+package com.processapi.rest.bulkhead;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    private final String clientName;
+    private final int maxConcurrentCalls;
+    private final int maxQueueDepth;
+
+    public BulkheadFullException(String clientName, int maxConcurrentCalls, int maxQueueDepth) {
+        super(String.format("Bulkhead full for client %s. Max concurrent calls: %d, Max queue depth: %d",
+            clientName, maxConcurrentCalls, maxQueueDepth));
+        this.clientName = clientName;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxQueueDepth = maxQueueDepth;
+    }
+}
@@ -0,0 +1,59 @@
+package com.processapi.rest.cache;
+
+import java.util.List;
+
+/**
+ * The Cache-Control directives this client cache acts on. Durations are in seconds, {@code -1}
+ * when the directive is absent. {@code public} and {@code s-maxage} only decide whether a
+ * response to a request with credentials may be stored; {@code private} is ignored.
+ */
+public record CacheDirectives(boolean noStore, boolean noCache, boolean mustRevalidate, boolean isPublic,
+                              long maxAge, long sMaxAge, long staleWhileRevalidate) {
+
+    public static final CacheDirectives NONE = new CacheDirectives(false, false, false, false, -1, -1, -1);
+
+    public static CacheDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        boolean isPublic = false;
+        long maxAge = -1;
+        long sMaxAge = -1;
+        long staleWhileRevalidate = -1;
+        for (String value : headerValues) {
+            for (String directive : value.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                String name = parts[0].trim().toLowerCase();
+                String argument = parts.length > 1 ? parts[1].trim().replace("\"", "") : null;
+                switch (name) {
+                    case "no-store" -> noStore = true;
+                    case "no-cache" -> noCache = true;
+                    case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                    case "public" -> isPublic = true;
+                    case "max-age" -> maxAge = seconds(argument);
+                    case "s-maxage" -> sMaxAge = seconds(argument);
+                    case "stale-while-revalidate" -> staleWhileRevalidate = seconds(argument);
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, mustRevalidate, isPublic, maxAge, sMaxAge, staleWhileRevalidate);
+    }
+
+    private static long seconds(String argument) {
+        if (argument == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(argument));
+        } catch (NumberFormatException e) {
+            // RFC 9111 treats an invalid max-age as stale
+            return 0;
+        }
+    }
+}
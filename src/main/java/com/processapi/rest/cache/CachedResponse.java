@@ -0,0 +1,280 @@
+package com.processapi.rest.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A stored response with the freshness information needed to serve it again. Times are epoch
+ * milliseconds; {@code storedAt} is corrected by the Age the origin reported, so the current age
+ * is simply {@code now - storedAt}.
+ */
+public final class CachedResponse {
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final Set<String> UNCHANGED_ON_REVALIDATION = Set.of(
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.CONTENT_ENCODING.toLowerCase(),
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONTENT_RANGE.toLowerCase());
+
+    private final int statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final HttpHeaders varyValues;
+    private final ByteBuffer body;
+    private final long storedAt;
+    private final long freshnessLifetime;
+    private final long staleWhileRevalidate;
+    private final boolean mustRevalidate;
+    private final long weight;
+
+    private CachedResponse(int statusCode, String statusText, HttpHeaders headers, HttpHeaders varyValues,
+                           ByteBuffer body, long storedAt) {
+        CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.varyValues = varyValues;
+        this.body = body;
+        this.storedAt = storedAt;
+        this.freshnessLifetime = directives.noCache() ? 0 : freshnessLifetime(headers, directives);
+        this.staleWhileRevalidate = directives.mustRevalidate() ? 0 : Math.max(0, directives.staleWhileRevalidate() * 1000);
+        this.mustRevalidate = directives.mustRevalidate();
+        this.weight = weigh(headers, body);
+    }
+
+    /**
+     * Returns whether a response may be stored: a cacheable status, no {@code no-store}, no
+     * {@code Vary: *}, and either explicit freshness or a validator to revalidate with. The cache
+     * is keyed by URI alone, so a response to a request with {@code Authorization} is only stored
+     * when it is marked {@code public} or carries {@code s-maxage}, i.e. may be shared between
+     * callers.
+     */
+    public static boolean isCacheable(int statusCode, HttpHeaders requestHeaders, HttpHeaders headers) {
+        if (statusCode != 200 && statusCode != 203 && statusCode != 300 && statusCode != 301
+            && statusCode != 404 && statusCode != 410) {
+            return false;
+        }
+        CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.noStore() || headers.getVary().contains("*")) {
+            return false;
+        }
+        if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION) && !directives.isPublic() && directives.sMaxAge() < 0) {
+            return false;
+        }
+        return directives.maxAge() >= 0 || headers.containsKey(HttpHeaders.EXPIRES)
+            || headers.getETag() != null || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    public static CachedResponse create(HttpHeaders requestHeaders, int statusCode, String statusText,
+                                        HttpHeaders headers, ByteBuffer body, long responseTime) {
+        HttpHeaders varyValues = new HttpHeaders();
+        for (String name : headers.getVary()) {
+            List<String> values = requestHeaders.get(name);
+            varyValues.put(name, values != null ? List.copyOf(values) : List.of());
+        }
+        return new CachedResponse(statusCode, statusText, copyOf(headers), varyValues, body,
+            responseTime - ageSeconds(headers) * 1000);
+    }
+
+    /**
+     * Returns this entry with the headers of a 304 response merged in and its age reset.
+     */
+    public CachedResponse revalidated(HttpHeaders notModifiedHeaders, long responseTime) {
+        HttpHeaders merged = copyOf(headers);
+        for (Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            if (!UNCHANGED_ON_REVALIDATION.contains(header.getKey().toLowerCase())) {
+                merged.put(header.getKey(), header.getValue());
+            }
+        }
+        return new CachedResponse(statusCode, statusText, merged, varyValues, body,
+            responseTime - ageSeconds(notModifiedHeaders) * 1000);
+    }
+
+    /**
+     * Returns whether the request selects this stored variant, i.e. sends the same values for
+     * every header the response varied on.
+     */
+    public boolean matches(HttpHeaders requestHeaders) {
+        for (Map.Entry<String, List<String>> vary : varyValues.entrySet()) {
+            List<String> values = requestHeaders.get(vary.getKey());
+            if (!vary.getValue().equals(values != null ? values : List.of())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isFresh(long now) {
+        return now - storedAt < freshnessLifetime;
+    }
+
+    /**
+     * Returns whether the stale entry may still be served while it is revalidated in the background.
+     */
+    public boolean isStaleWhileRevalidate(long now) {
+        return !mustRevalidate && now - storedAt < freshnessLifetime + staleWhileRevalidate;
+    }
+
+    public boolean hasValidators() {
+        return headers.getETag() != null || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * Adds If-None-Match and If-Modified-Since for this entry's validators.
+     */
+    public void addConditionalHeaders(HttpHeaders requestHeaders) {
+        String etag = headers.getETag();
+        if (etag != null) {
+            requestHeaders.setIfNoneMatch(etag);
+        }
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isOffHeap() {
+        return body.isDirect();
+    }
+
+    /**
+     * Approximate number of bytes this entry holds, used to bound the cache.
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns a response for this entry with an Age header reflecting the time it has been stored.
+     */
+    public ClientHttpResponse toResponse(long now) {
+        HttpHeaders responseHeaders = copyOf(headers);
+        responseHeaders.set(HttpHeaders.AGE, Long.toString(Math.max(0, (now - storedAt) / 1000)));
+        return new Response(HttpStatusCode.valueOf(statusCode), statusText, responseHeaders, body.duplicate());
+    }
+
+    private static long freshnessLifetime(HttpHeaders headers, CacheDirectives directives) {
+        if (directives.maxAge() >= 0) {
+            return directives.maxAge() * 1000;
+        }
+        // An invalid Expires, such as "0", means already expired
+        long expires = headers.getExpires();
+        if (expires < 0) {
+            return 0;
+        }
+        long date;
+        try {
+            date = headers.getDate();
+        } catch (IllegalArgumentException e) {
+            date = -1;
+        }
+        return Math.max(0, expires - (date >= 0 ? date : System.currentTimeMillis()));
+    }
+
+    private static long weigh(HttpHeaders headers, ByteBuffer body) {
+        long weight = ENTRY_OVERHEAD + body.capacity();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight;
+    }
+
+    private static long ageSeconds(HttpHeaders headers) {
+        String age = headers.getFirst(HttpHeaders.AGE);
+        if (age == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(age.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static HttpHeaders copyOf(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        return copy;
+    }
+
+    private static final class Response implements ClientHttpResponse {
+        private final HttpStatusCode statusCode;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final ByteBuffer body;
+
+        Response(HttpStatusCode statusCode, String statusText, HttpHeaders headers, ByteBuffer body) {
+            this.statusCode = statusCode;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteBufferInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.processapi.rest.cache;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often a key was accessed recently. Counters
+ * are halved once the sample size is reached so old popularity fades. Not thread-safe; guarded
+ * by the owning cache's lock.
+ */
+final class FrequencySketch {
+    private static final int[] SEEDS = {0x97cb3127, 0xb7a9c1d3, 0x9e3779b9, 0x85ebca6b};
+    private static final int MAX_COUNT = 15;
+
+    private final byte[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        int entries = Math.max(64, Math.min(1 << 20, expectedEntries));
+        int size = Integer.highestOneBit(16 * entries - 1) << 1;
+        this.table = new byte[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * entries;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int seed : SEEDS) {
+            int index = indexOf(hash, seed);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int seed : SEEDS) {
+            frequency = Math.min(frequency, table[indexOf(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) (table[i] >>> 1);
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int seed) {
+        int h = (hash ^ seed) * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        return hash ^ (hash >>> 11);
+    }
+}
@@ -0,0 +1,208 @@
+package com.processapi.rest.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded response store with W-TinyLFU eviction. New entries go into a small LRU window
+ * (1% of the capacity); entries leaving the window are only admitted to the main LRU region if
+ * they have been requested more often than the main region's eviction victim, as estimated by a
+ * {@link FrequencySketch}. A burst of one-off URLs therefore cannot flush frequently used
+ * reference data. Capacity is measured in bytes of body and headers.
+ * <p>
+ * Bodies of at least {@code offHeapThreshold} bytes are copied into direct buffers so large
+ * payloads do not add to heap pressure.
+ */
+@Slf4j
+public class ResponseCache {
+    private static final int AVERAGE_ENTRY_SIZE = 4096;
+
+    private final String name;
+    private final long windowCapacity;
+    private final long mainCapacity;
+    private final int maxEntrySize;
+    private final int offHeapThreshold;
+    private final LinkedHashMap<String, CachedResponse> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, CachedResponse> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long windowWeight;
+    private long mainWeight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxSize          total bytes the cache may hold
+     * @param maxEntrySize     largest body that will be cached
+     * @param offHeapThreshold body size from which entries are stored off-heap; 0 disables off-heap storage
+     */
+    public ResponseCache(String name, long maxSize, int maxEntrySize, int offHeapThreshold) {
+        this.name = name;
+        this.windowCapacity = Math.max(1, maxSize / 100);
+        this.mainCapacity = Math.max(1, maxSize - windowCapacity);
+        this.maxEntrySize = maxEntrySize;
+        this.offHeapThreshold = offHeapThreshold;
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, maxSize / AVERAGE_ENTRY_SIZE));
+    }
+
+    public CachedResponse get(String key) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            CachedResponse entry = window.get(key);
+            return entry != null ? entry : main.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, CachedResponse entry) {
+        long weight = entry.weight();
+        lock.lock();
+        try {
+            remove(key);
+            if (weight > mainCapacity) {
+                return;
+            }
+            window.put(key, entry);
+            windowWeight += weight;
+            evictFromWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps a body for storage, on or off the heap depending on its size.
+     */
+    public ByteBuffer storeBody(byte[] body) {
+        if (offHeapThreshold <= 0 || body.length < offHeapThreshold) {
+            return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void onHit() {
+        hitCount.increment();
+    }
+
+    public void onStaleHit() {
+        staleHitCount.increment();
+    }
+
+    public void onRevalidated() {
+        revalidatedCount.increment();
+    }
+
+    public void onMiss() {
+        missCount.increment();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHitCount.sum();
+    }
+
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int getSize() {
+        lock.lock();
+        try {
+            return window.size() + main.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getWeight() {
+        lock.lock();
+        try {
+            return windowWeight + mainWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = window.remove(key);
+        if (removed != null) {
+            windowWeight -= removed.weight();
+            return;
+        }
+        removed = main.remove(key);
+        if (removed != null) {
+            mainWeight -= removed.weight();
+        }
+    }
+
+    private void evictFromWindow() {
+        Iterator<Map.Entry<String, CachedResponse>> candidates = window.entrySet().iterator();
+        while (windowWeight > windowCapacity && candidates.hasNext()) {
+            Map.Entry<String, CachedResponse> candidate = candidates.next();
+            candidates.remove();
+            long weight = candidate.getValue().weight();
+            windowWeight -= weight;
+            admit(candidate.getKey(), candidate.getValue(), weight);
+        }
+    }
+
+    private void admit(String key, CachedResponse candidate, long weight) {
+        Iterator<Map.Entry<String, CachedResponse>> victims = main.entrySet().iterator();
+        if (mainWeight + weight > mainCapacity && victims.hasNext()) {
+            Map.Entry<String, CachedResponse> victim = victims.next();
+            if (sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+                evictionCount.increment();
+                log.trace("Cache {} rejected {} in favour of {}", name, key, victim.getKey());
+                return;
+            }
+        }
+
+        victims = main.entrySet().iterator();
+        while (mainWeight + weight > mainCapacity && victims.hasNext()) {
+            Map.Entry<String, CachedResponse> victim = victims.next();
+            victims.remove();
+            mainWeight -= victim.getValue().weight();
+            evictionCount.increment();
+        }
+        main.put(key, candidate);
+        mainWeight += weight;
+    }
+}
@@ -0,0 +1,25 @@
+package com.processapi.rest.cache;
+
+import com.processapi.rest.config.RestClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class ResponseCacheFactory {
+    private final Map<String, ResponseCache> responseCaches = new ConcurrentHashMap<>();
+
+    public ResponseCache getResponseCache(String name, RestClientProperties.CacheConfig config) {
+        return responseCaches.computeIfAbsent(name, k -> {
+            log.info("Creating response cache for: {} ({} bytes)", name, config.getMaxSize());
+            return new ResponseCache(name, config.getMaxSize(), config.getMaxEntrySize(), config.getOffHeapThreshold());
+        });
+    }
+
+    public Map<String, ResponseCache> getResponseCaches() {
+        return Map.copyOf(responseCaches);
+    }
+}
@@ -4,113 +4,393 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * Circuit breaker that opens when the failure rate or slow-call rate over a sliding window of
+ * calls crosses its threshold, once the window holds at least {@code minimumNumberOfCalls}.
+ * Successful calls only record into the window; thresholds are evaluated after failures and
+ * slow calls, the only outcomes that can push a rate up.
+ * <p>
+ * In half-open state up to {@code permittedCallsInHalfOpenState} trial calls are let through;
+ * the breaker closes once they all succeed and re-opens on the first failure or when the trials
+ * do not finish within {@code halfOpenTimeout}. When a scheduler is supplied, an open breaker
+ * runs its health check in the background and moves to half-open as soon as it passes, instead
+ * of waiting for {@code resetTimeout} and sending user traffic to a service that is still down.
+ */
 @Slf4j
 public class CircuitBreaker {
     private final String name;
-    private final int failureThreshold;
     private final Duration resetTimeout;
     private final Duration halfOpenTimeout;
     private final Supplier<Boolean> healthCheck;
-    
-    private final AtomicInteger failureCount = new AtomicInteger(0);
+    private final SlidingWindow window;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final long healthCheckInterval;
+    private final ScheduledExecutorService scheduler;
+
     private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
-    private final AtomicReference<Instant> lastFailureTime = new AtomicReference<>();
+    private final AtomicInteger halfOpenPermits = new AtomicInteger(0);
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger(0);
+    private final AtomicReference<Instant> openedTime = new AtomicReference<>();
     private final AtomicReference<Instant> halfOpenTime = new AtomicReference<>();
+    private final Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+    private volatile boolean shutdown;
 
     public enum State {
         CLOSED, OPEN, HALF_OPEN
     }
 
-    public CircuitBreaker(String name, int failureThreshold, Duration resetTimeout, 
+    /**
+     * Creates a breaker that opens after {@code failureThreshold} failures within the last
+     * {@code failureThreshold} calls.
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration resetTimeout,
                          Duration halfOpenTimeout, Supplier<Boolean> healthCheck) {
+        this(name, consecutiveFailuresConfig(failureThreshold, resetTimeout, halfOpenTimeout), healthCheck);
+    }
+
+    public CircuitBreaker(String name, CircuitBreakerConfig config, Supplier<Boolean> healthCheck) {
+        this(name, config, healthCheck, null);
+    }
+
+    /**
+     * @param healthCheck probed in the background while open; may be {@code null}
+     * @param scheduler used for background health probes and half-open timeouts; {@code null}
+     *                  disables probing and checks the half-open timeout lazily on each call
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config, Supplier<Boolean> healthCheck,
+                          ScheduledExecutorService scheduler) {
         this.name = name;
-        this.failureThreshold = failureThreshold;
-        this.resetTimeout = resetTimeout;
-        this.halfOpenTimeout = halfOpenTimeout;
+        this.resetTimeout = Duration.ofMillis(config.getResetTimeout());
+        this.halfOpenTimeout = Duration.ofMillis(config.getHalfOpenTimeout());
         this.healthCheck = healthCheck;
+        Integer failureThreshold = config.getFailureThreshold();
+        if (failureThreshold != null) {
+            // Deprecated consecutive-failure counting: open once every call in a window this long failed
+            this.window = new CountBasedSlidingWindow(failureThreshold);
+            this.minimumNumberOfCalls = failureThreshold;
+            this.failureRateThreshold = 100;
+        } else {
+            this.window = config.getSlidingWindowType() == CircuitBreakerConfig.SlidingWindowType.TIME_BASED
+                ? new TimeBasedSlidingWindow(config.getSlidingWindowSize())
+                : new CountBasedSlidingWindow(config.getSlidingWindowSize());
+            this.minimumNumberOfCalls = config.getMinimumNumberOfCalls();
+            this.failureRateThreshold = config.getFailureRateThreshold();
+        }
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.slowCallDurationNanos = Duration.ofMillis(config.getSlowCallDurationThreshold()).toNanos();
+        this.permittedCallsInHalfOpenState = Math.max(1, config.getPermittedCallsInHalfOpenState());
+        this.healthCheckInterval = config.getHealthCheckInterval();
+        this.scheduler = scheduler;
+        for (State target : State.values()) {
+            transitions.put(target, new LongAdder());
+        }
     }
 
     public <T> T execute(Supplier<T> operation) {
-        if (isOpen()) {
-            if (shouldAttemptReset()) {
-                return attemptReset(operation);
-            }
-            throw new CircuitBreakerOpenException("Circuit breaker is open for " + name);
-        }
+        acquirePermission();
 
+        long start = System.nanoTime();
         try {
             T result = operation.get();
-            onSuccess();
+            onSuccess(System.nanoTime() - start);
             return result;
         } catch (Exception e) {
-            onFailure();
+            onFailure(System.nanoTime() - start);
             throw e;
         }
     }
 
-    private boolean isOpen() {
-        return state.get() == State.OPEN;
+    /**
+     * Runs a call whose response is consumed before {@code operation} returns, such as a streamed
+     * download. The operation runs the {@code Runnable} it is given once the response has arrived;
+     * slow calls are judged by the time up to then, so a slow consumer does not open the breaker.
+     * If the operation never runs it, the whole call is timed.
+     */
+    public <T> T executeStreaming(Function<Runnable, T> operation) {
+        acquirePermission();
+
+        long start = System.nanoTime();
+        AtomicLong responseNanos = new AtomicLong(-1);
+        Runnable responded = () -> responseNanos.compareAndSet(-1, System.nanoTime() - start);
+        try {
+            T result = operation.apply(responded);
+            onSuccess(durationNanos(start, responseNanos.get()));
+            return result;
+        } catch (Exception e) {
+            onFailure(durationNanos(start, responseNanos.get()));
+            throw e;
+        }
     }
 
-    private boolean shouldAttemptReset() {
-        if (state.get() == State.OPEN) {
-            Instant now = Instant.now();
-            Instant lastFailure = lastFailureTime.get();
-            return lastFailure != null && 
-                   Duration.between(lastFailure, now).compareTo(resetTimeout) > 0;
-        }
-        return false;
-    }
-
-    private <T> T attemptReset(Supplier<T> operation) {
-        if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
-            halfOpenTime.set(Instant.now());
-            try {
-                T result = operation.get();
-                onSuccess();
-                return result;
-            } catch (Exception e) {
-                onFailure();
-                throw e;
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> operation) {
+        try {
+            acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (Exception e) {
+            onFailure(System.nanoTime() - start);
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            if (error == null) {
+                onSuccess(System.nanoTime() - start);
+            } else if (!isCancellation(error)) {
+                onFailure(System.nanoTime() - start);
             }
+        });
+    }
+
+    /**
+     * Returns whether a call made now would be let through, without changing state or taking a
+     * half-open permit.
+     */
+    public boolean isCallPermitted() {
+        return state.get() != State.OPEN || (!isProbing() && shouldAttemptReset());
+    }
+
+    private void acquirePermission() {
+        if (state.get() == State.OPEN && !isProbing() && shouldAttemptReset()) {
+            transitionToHalfOpen();
+        }
+
+        switch (state.get()) {
+            case CLOSED:
+                return;
+            case HALF_OPEN:
+                if (halfOpenExpired()) {
+                    open("half-open trial calls did not complete within " + halfOpenTimeout.toMillis() + " ms");
+                } else if (tryAcquireTrialCall()) {
+                    return;
+                }
+                break;
+            default:
+                break;
         }
         throw new CircuitBreakerOpenException("Circuit breaker is open for " + name);
     }
 
-    private void onSuccess() {
-        failureCount.set(0);
-        state.set(State.CLOSED);
-        lastFailureTime.set(null);
-        halfOpenTime.set(null);
+    private static long durationNanos(long start, long responseNanos) {
+        return responseNanos >= 0 ? responseNanos : System.nanoTime() - start;
+    }
+
+    private boolean isProbing() {
+        return !shutdown && scheduler != null && healthCheck != null && healthCheckInterval > 0;
+    }
+
+    private boolean shouldAttemptReset() {
+        Instant opened = openedTime.get();
+        return opened != null &&
+               Duration.between(opened, Instant.now()).compareTo(resetTimeout) > 0;
+    }
+
+    private void transitionToHalfOpen() {
+        if (!state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return;
+        }
+
+        transitions.get(State.HALF_OPEN).increment();
+        Instant now = Instant.now();
+        halfOpenSuccesses.set(0);
+        halfOpenPermits.set(permittedCallsInHalfOpenState);
+        halfOpenTime.set(now);
+        log.info("Circuit breaker half-open for {}, allowing {} trial calls", name, permittedCallsInHalfOpenState);
+
+        if (scheduler != null) {
+            schedule(() -> {
+                if (state.get() == State.HALF_OPEN && now.equals(halfOpenTime.get())) {
+                    open("half-open trial calls did not complete within " + halfOpenTimeout.toMillis() + " ms");
+                }
+            }, halfOpenTimeout.toMillis());
+        }
+    }
+
+    private boolean halfOpenExpired() {
+        Instant started = halfOpenTime.get();
+        return started != null && Duration.between(started, Instant.now()).compareTo(halfOpenTimeout) > 0;
     }
 
-    private void onFailure() {
-        lastFailureTime.set(Instant.now());
+    private boolean tryAcquireTrialCall() {
+        int permits;
+        do {
+            permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                return false;
+            }
+        } while (!halfOpenPermits.compareAndSet(permits, permits - 1));
+        return true;
+    }
+
+    private void scheduleProbe() {
+        schedule(() -> Thread.startVirtualThread(this::probe), healthCheckInterval);
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        try {
+            scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Scheduler for {} is shut down, not scheduling", name);
+        }
+    }
+
+    private void probe() {
+        if (shutdown || state.get() != State.OPEN) {
+            return;
+        }
+
+        boolean healthy;
+        try {
+            healthy = Boolean.TRUE.equals(healthCheck.get());
+        } catch (Exception e) {
+            log.debug("Health check failed for {}: {}", name, e.getMessage());
+            healthy = false;
+        }
+
+        if (healthy) {
+            log.info("Health check passed for {}", name);
+            transitionToHalfOpen();
+        } else if (isProbing() && state.get() == State.OPEN) {
+            scheduleProbe();
+        }
+    }
+
+    private void onSuccess(long durationNanos) {
+        if (state.get() == State.HALF_OPEN) {
+            if (halfOpenSuccesses.incrementAndGet() >= permittedCallsInHalfOpenState) {
+                close();
+            }
+            return;
+        }
+
+        boolean slow = durationNanos >= slowCallDurationNanos;
+        window.record(false, slow);
+        if (slow) {
+            checkThresholds();
+        }
+    }
+
+    private void onFailure(long durationNanos) {
         if (state.get() == State.HALF_OPEN) {
-            state.set(State.OPEN);
+            open("trial call failed in half-open state");
+            return;
+        }
+
+        window.record(true, durationNanos >= slowCallDurationNanos);
+        checkThresholds();
+    }
+
+    private void checkThresholds() {
+        SlidingWindow.Snapshot snapshot = window.snapshot();
+        if (snapshot.calls() < minimumNumberOfCalls) {
             return;
         }
 
-        int failures = failureCount.incrementAndGet();
-        if (failures >= failureThreshold) {
-            state.set(State.OPEN);
-            log.warn("Circuit breaker opened for {} after {} failures", name, failures);
+        float failureRate = snapshot.failureRate();
+        float slowCallRate = snapshot.slowCallRate();
+        if (failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold) {
+            open(String.format("failure rate %.1f%%, slow call rate %.1f%% over %d calls",
+                failureRate, slowCallRate, snapshot.calls()));
+        }
+    }
+
+    private void open(String reason) {
+        openedTime.set(Instant.now());
+        halfOpenTime.set(null);
+        State previous = state.getAndSet(State.OPEN);
+        if (previous != State.OPEN) {
+            transitions.get(State.OPEN).increment();
+            log.warn("Circuit breaker opened for {}: {}", name, reason);
+            if (isProbing()) {
+                scheduleProbe();
+            }
+        }
+    }
+
+    private void close() {
+        if (!state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            return;
         }
+        transitions.get(State.CLOSED).increment();
+        window.reset();
+        openedTime.set(null);
+        halfOpenTime.set(null);
+        log.info("Circuit breaker closed for {}", name);
+    }
+
+    /**
+     * Stops background health probes, for a breaker whose service is no longer called. Calls
+     * still in flight are recorded as usual; an open breaker then waits out {@code resetTimeout}.
+     */
+    public void shutdown() {
+        shutdown = true;
     }
 
     public State getState() {
         return state.get();
     }
 
+    /**
+     * Returns how many times the breaker has moved into {@code state}.
+     */
+    public long getTransitionCount(State state) {
+        return transitions.get(state).sum();
+    }
+
     public int getFailureCount() {
-        return failureCount.get();
+        return (int) window.snapshot().failures();
+    }
+
+    public float getFailureRate() {
+        return window.snapshot().failureRate();
+    }
+
+    public float getSlowCallRate() {
+        return window.snapshot().slowCallRate();
     }
 
     public boolean isHealthy() {
-        return healthCheck.get();
+        return healthCheck == null || healthCheck.get();
+    }
+
+    /**
+     * A cancelled call, such as the losing copy of a hedged request, says nothing about the service.
+     */
+    private static boolean isCancellation(Throwable error) {
+        return error instanceof CancellationException || error.getCause() instanceof CancellationException;
+    }
+
+    private static CircuitBreakerConfig consecutiveFailuresConfig(int failureThreshold, Duration resetTimeout,
+                                                                  Duration halfOpenTimeout) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setResetTimeout(resetTimeout.toMillis());
+        config.setHalfOpenTimeout(halfOpenTimeout.toMillis());
+        config.setSlidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED);
+        config.setSlidingWindowSize(failureThreshold);
+        config.setMinimumNumberOfCalls(failureThreshold);
+        config.setFailureRateThreshold(100);
+        return config;
     }
-} 
\ No newline at end of file
+}
@@ -6,7 +6,28 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @Data
 @ConfigurationProperties(prefix = "rest-client.circuit-breaker")
 public class CircuitBreakerConfig {
-    private int failureThreshold = 5;
+    /**
+     * When set, the breaker opens once each of the last {@code failureThreshold} calls failed,
+     * and the sliding window settings and {@code failureRateThreshold} are ignored.
+     *
+     * @deprecated consecutive-failure counting was replaced by {@link #failureRateThreshold}
+     */
+    @Deprecated
+    private Integer failureThreshold;
     private long resetTimeout = 60000; // 1 minute
     private long halfOpenTimeout = 30000; // 30 seconds
-} 
\ No newline at end of file
+
+    private SlidingWindowType slidingWindowType = SlidingWindowType.COUNT_BASED;
+    private int slidingWindowSize = 100; // calls for COUNT_BASED, seconds for TIME_BASED
+    private int minimumNumberOfCalls = 10;
+    private float failureRateThreshold = 50; // percent
+    private float slowCallRateThreshold = 100; // percent
+    private long slowCallDurationThreshold = 60000;
+
+    private int permittedCallsInHalfOpenState = 3;
+    private long healthCheckInterval = 0; // Background probe interval in ms while open; 0 disables probing
+
+    public enum SlidingWindowType {
+        COUNT_BASED, TIME_BASED
+    }
+}
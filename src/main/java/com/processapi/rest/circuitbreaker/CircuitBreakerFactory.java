@@ -1,45 +1,84 @@
 package com.processapi.rest.circuitbreaker;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 @Slf4j
 @Component
-public class CircuitBreakerFactory {
+public class CircuitBreakerFactory implements DisposableBean {
     private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "circuit-breaker-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean deprecationLogged = new AtomicBoolean();
 
     public CircuitBreaker getCircuitBreaker(String name, CircuitBreakerConfig config) {
         return circuitBreakers.computeIfAbsent(name, k -> {
             log.info("Creating circuit breaker for: {}", name);
+            warnIfDeprecated(config);
             return new CircuitBreaker(
                 name,
-                config.getFailureThreshold(),
-                Duration.ofMillis(config.getResetTimeout()),
-                Duration.ofMillis(config.getHalfOpenTimeout()),
-                () -> true // Default health check that always returns true
+                config,
+                null, // No health check: reported healthy, never probed
+                scheduler
             );
         });
     }
 
-    public CircuitBreaker getCircuitBreaker(String name, Supplier<Boolean> healthCheck) {
+    /**
+     * Creates a breaker whose health check is probed in the background while it is open,
+     * if {@code healthCheckInterval} is configured.
+     */
+    public CircuitBreaker getCircuitBreaker(String name, CircuitBreakerConfig config, Supplier<Boolean> healthCheck) {
         return circuitBreakers.computeIfAbsent(name, k -> {
-            log.info("Creating circuit breaker for: {}", name);
-            return new CircuitBreaker(
-                name,
-                5, // Default failure threshold
-                Duration.ofMillis(60000), // Default reset timeout
-                Duration.ofMillis(30000), // Default half-open timeout
-                healthCheck
-            );
+            log.info("Creating circuit breaker with health check for: {}", name);
+            warnIfDeprecated(config);
+            return new CircuitBreaker(name, config, healthCheck, scheduler);
         });
     }
 
+    public CircuitBreaker getCircuitBreaker(String name, Supplier<Boolean> healthCheck) {
+        return getCircuitBreaker(name, new CircuitBreakerConfig(), healthCheck);
+    }
+
+    /**
+     * Returns the named breaker, or {@code null} if none has been created for it yet.
+     */
+    public CircuitBreaker findCircuitBreaker(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    private void warnIfDeprecated(CircuitBreakerConfig config) {
+        if (config.getFailureThreshold() != null && deprecationLogged.compareAndSet(false, true)) {
+            log.warn("rest-client.circuit-breaker.failure-threshold is deprecated: breakers open after {} "
+                + "consecutive failures and ignore the sliding window settings; use failure-rate-threshold "
+                + "with sliding-window-size and minimum-number-of-calls instead", config.getFailureThreshold());
+        }
+    }
+
+    /**
+     * Removes a breaker and stops its health probes.
+     */
     public void removeCircuitBreaker(String name) {
-        circuitBreakers.remove(name);
+        CircuitBreaker removed = circuitBreakers.remove(name);
+        if (removed != null) {
+            removed.shutdown();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        circuitBreakers.values().forEach(CircuitBreaker::shutdown);
+        scheduler.shutdownNow();
     }
-} 
\ No newline at end of file
+}
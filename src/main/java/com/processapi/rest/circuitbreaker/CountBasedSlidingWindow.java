@@ -0,0 +1,60 @@
+package com.processapi.rest.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring buffer over the last {@code size} calls. Each call overwrites the oldest slot and adjusts
+ * striped totals by the difference, so snapshots never walk the buffer.
+ */
+public class CountBasedSlidingWindow implements SlidingWindow {
+    private static final int EMPTY = 0;
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+    private static final int RECORDED = 4;
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong index = new AtomicLong(0);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+
+    public CountBasedSlidingWindow(int size) {
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    @Override
+    public void record(boolean failure, boolean slow) {
+        int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+        int slot = (int) (index.getAndIncrement() % outcomes.length());
+        int evicted = outcomes.getAndSet(slot, outcome);
+
+        if (evicted == EMPTY) {
+            calls.increment();
+        }
+        adjust(failures, evicted & FAILURE, outcome & FAILURE);
+        adjust(slowCalls, evicted & SLOW, outcome & SLOW);
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(calls.sum(), failures.sum(), slowCalls.sum());
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < outcomes.length(); i++) {
+            outcomes.set(i, EMPTY);
+        }
+        calls.reset();
+        failures.reset();
+        slowCalls.reset();
+    }
+
+    private static void adjust(LongAdder counter, int evicted, int recorded) {
+        if (evicted != recorded) {
+            counter.add(recorded != 0 ? 1 : -1);
+        }
+    }
+}
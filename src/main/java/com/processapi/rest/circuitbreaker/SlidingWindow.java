@@ -0,0 +1,24 @@
+package com.processapi.rest.circuitbreaker;
+
+/**
+ * Aggregates call outcomes over the most recent calls or seconds.
+ */
+public interface SlidingWindow {
+
+    void record(boolean failure, boolean slow);
+
+    Snapshot snapshot();
+
+    void reset();
+
+    record Snapshot(long calls, long failures, long slowCalls) {
+
+        public float failureRate() {
+            return calls > 0 ? failures * 100f / calls : 0f;
+        }
+
+        public float slowCallRate() {
+            return calls > 0 ? slowCalls * 100f / calls : 0f;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.processapi.rest.circuitbreaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Window over the last {@code seconds} seconds, kept as one bucket per second. A bucket is
+ * recycled lazily by the first call that lands in it after its second has expired; calls racing
+ * with that recycle may be counted in either second, which is acceptable for rate thresholds.
+ */
+public class TimeBasedSlidingWindow implements SlidingWindow {
+    // Marks a bucket that holds no second; nanoTime-derived seconds may be negative
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final Bucket[] buckets;
+    private final LongSupplier nanoClock;
+
+    public TimeBasedSlidingWindow(int seconds) {
+        this(seconds, System::nanoTime);
+    }
+
+    TimeBasedSlidingWindow(int seconds, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.buckets = new Bucket[seconds];
+        for (int i = 0; i < seconds; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    @Override
+    public void record(boolean failure, boolean slow) {
+        long second = currentSecond();
+        Bucket bucket = buckets[Math.floorMod(second, buckets.length)];
+        long epoch = bucket.second.get();
+        if (epoch != second && bucket.second.compareAndSet(epoch, second)) {
+            bucket.clear();
+        }
+
+        bucket.calls.increment();
+        if (failure) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        long oldest = currentSecond() - buckets.length + 1;
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.second.get() >= oldest) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        return new Snapshot(calls, failures, slowCalls);
+    }
+
+    @Override
+    public void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.second.set(UNUSED);
+            bucket.clear();
+        }
+    }
+
+    private long currentSecond() {
+        return Math.floorDiv(nanoClock.getAsLong(), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static class Bucket {
+        private final AtomicLong second = new AtomicLong(UNUSED);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        void clear() {
+            calls.reset();
+            failures.reset();
+            slowCalls.reset();
+        }
+    }
+}
@@ -1,43 +1,570 @@
 package com.processapi.rest.client;
 
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.body.PooledBody;
+import com.processapi.rest.bulkhead.Bulkhead;
 import com.processapi.rest.circuitbreaker.CircuitBreaker;
-import com.processapi.rest.circuitbreaker.CircuitBreakerFactory;
-import com.processapi.rest.config.RestClientConfig;
+import com.processapi.rest.codec.Codecs;
+import com.processapi.rest.compression.Compression;
+import com.processapi.rest.config.RetryConfig;
+import com.processapi.rest.exception.RestClientErrorHandler;
 import com.processapi.rest.exception.RestClientException;
-import com.processapi.rest.interceptor.RequestInterceptor;
-import com.processapi.rest.interceptor.ResponseInterceptor;
+import com.processapi.rest.hedging.HedgingPolicy;
+import com.processapi.rest.loadbalancer.Endpoint;
+import com.processapi.rest.loadbalancer.LoadBalancer;
+import com.processapi.rest.metrics.ClientMetrics;
+import com.processapi.rest.ratelimit.AdaptiveConcurrencyLimiter;
+import com.processapi.rest.ratelimit.ConcurrencyLimitExceededException;
+import com.processapi.rest.ratelimit.RateLimitException;
 import com.processapi.rest.ratelimit.RateLimiter;
-import com.processapi.rest.ratelimit.RateLimiterConfig;
+import com.processapi.rest.retry.Backoff;
+import com.processapi.rest.retry.RetryBudget;
 import com.processapi.rest.timeout.TimeoutManager;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.*;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
-import org.apache.http.util.EntityUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apache.hc.core5.io.CloseMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-public final class RestClientBase {
+/**
+ * Per-client facade combining rate limiting, bulkhead isolation, circuit breaking, retries and
+ * adaptive timeouts. Blocking calls go through the Spring {@link RestClient}. The {@code *Async}
+ * methods either run on the non-blocking HTTP client and never park the calling thread, or, in
+ * virtual-thread mode, run the blocking path on a per-client virtual thread executor. With
+ * compression enabled the non-blocking path encodes the request body once for all attempts and
+ * decodes gzip and deflate responses before they are checked and read. Async request bodies are
+ * serialized into pooled buffers and every attempt sends them from there; the buffers go back to
+ * the pool once the call and all of its exchanges are over. Objects are written with the client's
+ * preferred codec and responses read with the codec matching their Content-Type. Clients with
+ * several endpoints send every attempt, and every hedged copy, to an endpoint chosen by their
+ * {@link LoadBalancer}.
+ */
+public final class RestClientBase implements Closeable {
     private static final Logger logger = LoggerFactory.getLogger(RestClientBase.class);
-    private final CloseableHttpClient httpClient;
-    private final RestClientConfig config;
+    private final String clientName;
+    private final String baseUrl;
+    private final LoadBalancer loadBalancer;
+    private final RestClient restClient;
+    private final CloseableHttpAsyncClient asyncHttpClient;
     private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ExecutorService virtualThreadExecutor;
     private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
     private final TimeoutManager timeoutManager;
-    private final List<RequestInterceptor> requestInterceptors;
-    private final List<ResponseInterceptor> responseInterceptors;
+    private final RetryConfig retryConfig;
+    private final RetryBudget retryBudget;
+    private final Backoff backoff;
+    private final HedgingPolicy hedgingPolicy;
+    private final Compression compression;
+    private final BufferPool bufferPool;
+    private final RestClientErrorHandler errorHandler;
+    private final ClientMetrics metrics;
+    private final Codecs codecs;
+    private final ContentType requestContentType;
 
-    private RestClientBase() {
-        throw new UnsupportedOperationException("This class cannot be instantiated directly. Use RestClientFactory instead.");
+    RestClientBase(String clientName, String baseUrl, LoadBalancer loadBalancer, RestClient restClient,
+                   CloseableHttpAsyncClient asyncHttpClient, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                   ExecutorService virtualThreadExecutor,
+                   RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                   TimeoutManager timeoutManager, RetryConfig retryConfig, RetryBudget retryBudget,
+                   HedgingPolicy hedgingPolicy, Compression compression, BufferPool bufferPool,
+                   ClientMetrics metrics, Codecs codecs) {
+        this.clientName = clientName;
+        this.baseUrl = baseUrl;
+        this.loadBalancer = loadBalancer;
+        this.restClient = restClient;
+        this.asyncHttpClient = asyncHttpClient;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.timeoutManager = timeoutManager;
+        this.retryConfig = retryConfig;
+        this.retryBudget = retryBudget;
+        this.backoff = new Backoff(retryConfig);
+        this.hedgingPolicy = hedgingPolicy;
+        this.compression = compression;
+        this.bufferPool = bufferPool;
+        this.errorHandler = new RestClientErrorHandler(clientName, RestClientErrorHandler.DEFAULT_MAX_BODY_SIZE);
+        this.metrics = metrics;
+        this.codecs = codecs;
+        this.requestContentType = ContentType.parse(codecs.getRequestCodec().getMediaType().toString());
     }
 
-    protected abstract RestClient getRestClient(String clientName);
-} 
\ No newline at end of file
+    public <T> T get(String path, Class<T> responseType) {
+        return executeBlocking(() -> restClient.get()
+            .uri(path)
+            .retrieve()
+            .body(responseType));
+    }
+
+    public <T> T post(String path, Object body, Class<T> responseType) {
+        return executeBlocking(() -> restClient.post()
+            .uri(path)
+            .body(body)
+            .retrieve()
+            .body(responseType));
+    }
+
+    /**
+     * Streams the body of a GET to {@code handler} without buffering it, so large downloads run
+     * in constant memory. The response is closed when the handler returns; error responses fail
+     * with at most the first {@value RestClientErrorHandler#DEFAULT_MAX_BODY_SIZE} bytes of their body.
+     * The circuit breaker times the call up to the response headers, not the handler.
+     */
+    public <T> T getStream(String path, StreamingResponseHandler<T> handler) {
+        return executeBlocking(responded -> restClient.get()
+            .uri(path)
+            .exchange((request, response) -> {
+                responded.run();
+                if (errorHandler.hasError(response)) {
+                    errorHandler.handleError(response);
+                }
+                return handler.handle(new StreamingResponse(response));
+            }));
+    }
+
+    public <T> CompletableFuture<T> getAsync(String path, Class<T> responseType) {
+        if (virtualThreadExecutor != null) {
+            return CompletableFuture.supplyAsync(() -> get(path, responseType), virtualThreadExecutor);
+        }
+        return executeAsync(Method.GET, path, null, responseType);
+    }
+
+    public <T> CompletableFuture<T> postAsync(String path, Object body, Class<T> responseType) {
+        if (virtualThreadExecutor != null) {
+            return CompletableFuture.supplyAsync(() -> post(path, body, responseType), virtualThreadExecutor);
+        }
+        return executeAsync(Method.POST, path, body, responseType);
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    @Override
+    public void close() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+        asyncHttpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private <T> T executeBlocking(Supplier<T> operation) {
+        return executeBlocking(responded -> operation.get());
+    }
+
+    /**
+     * Runs a blocking call through the client's guards. The operation runs the {@code Runnable}
+     * it is given once the response has arrived; see {@link CircuitBreaker#executeStreaming}.
+     */
+    private <T> T executeBlocking(Function<Runnable, T> operation) {
+        rateLimiter.checkRateLimit(clientName);
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(clientName);
+        try {
+            bulkhead.acquirePermission();
+        } catch (RuntimeException e) {
+            permit.onIgnore();
+            throw e;
+        }
+        try {
+            T result = circuitBreaker.executeStreaming(operation);
+            permit.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            release(permit, e);
+            throw e;
+        } finally {
+            bulkhead.releasePermission();
+        }
+    }
+
+    private <T> CompletableFuture<T> executeAsync(Method method, String path, Object body, Class<T> responseType) {
+        Payload payload;
+        try {
+            rateLimiter.checkRateLimit(clientName);
+            payload = encode(writeBody(body));
+        } catch (RateLimitException | RestClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = concurrencyLimiter.acquire(clientName);
+        } catch (ConcurrencyLimitExceededException e) {
+            release(payload);
+            return CompletableFuture.failedFuture(e);
+        }
+        return bulkhead.acquirePermissionAsync()
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    permit.onIgnore();
+                    release(payload);
+                }
+            })
+            .thenCompose(ignored -> call(method, path, payload, permit, responseType));
+    }
+
+    /**
+     * Runs an admitted call: its attempts through the circuit breaker, then the response checks.
+     * Releases the bulkhead permit, the limiter permit and the body once it is over.
+     */
+    private <T> CompletableFuture<T> call(Method method, String path, Payload payload,
+                                          AdaptiveConcurrencyLimiter.Permit permit, Class<T> responseType) {
+        String operation = TimeoutManager.operationKey(method.name(), URI.create(loadBalancer != null ? path : baseUrl + path));
+        long start = System.nanoTime();
+        metrics.onStart();
+        return circuitBreaker.<SimpleHttpResponse>executeAsync(() -> {
+                CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+                attempt(operation, method, path, payload, 1, 0, result);
+                return result.thenApply(this::decode).thenApply(this::checkStatus);
+            })
+            .whenComplete((response, error) -> {
+                metrics.onComplete(operation, statusOf(response, error), System.nanoTime() - start);
+                release(payload);
+                bulkhead.releasePermission();
+                if (error == null) {
+                    permit.onSuccess();
+                } else {
+                    release(permit, error);
+                }
+            })
+            .thenApply(response -> readBody(response, responseType));
+    }
+
+    /**
+     * Sends one attempt and, if it fails with an I/O error and the retry budget allows, schedules
+     * the next one on a timer after a jittered delay; no thread waits in between.
+     */
+    private void attempt(String operation, Method method, String path, Payload payload, int attempt,
+                         long previousDelay, CompletableFuture<SimpleHttpResponse> result) {
+        dispatch(operation, method, path, payload).whenComplete((response, error) -> {
+            if (error == null) {
+                retryBudget.onSuccess();
+                result.complete(response);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (!(cause instanceof IOException) || attempt >= retryConfig.getMaxAttempts()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            if (!retryBudget.tryAcquireRetry()) {
+                logger.warn("Retry budget exhausted for {}, not retrying {}", clientName, operation);
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long delay = backoff.nextDelay(attempt, previousDelay);
+            logger.warn("Async request failed (attempt {}/{}), retrying in {} ms: {}",
+                attempt, retryConfig.getMaxAttempts(), delay, cause.getMessage());
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(operation, method, path, payload, attempt + 1, delay, result));
+        });
+    }
+
+    private CompletableFuture<SimpleHttpResponse> dispatch(String operation, Method method, String path, Payload payload) {
+        if (hedgingPolicy == null || method != Method.GET) {
+            return exchange(operation, method, path, payload);
+        }
+
+        hedgingPolicy.onRequest();
+        return timeoutManager.getLatencyPercentile(operation, hedgingPolicy.getPercentile())
+            .map(delay -> sendHedged(operation, method, path, payload, delay))
+            .orElseGet(() -> exchange(operation, method, path, payload));
+    }
+
+    /**
+     * Sends the request and, if it is still outstanding after {@code delay}, a second copy.
+     * The first successful response wins and the other exchange is cancelled; the result only
+     * fails once every copy has failed.
+     */
+    private CompletableFuture<SimpleHttpResponse> sendHedged(String operation, Method method, String path,
+                                                             Payload payload, Duration delay) {
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        List<CompletableFuture<SimpleHttpResponse>> exchanges = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        track(result, exchanges, pending, exchange(operation, method, path, payload));
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !hedgingPolicy.tryAcquireHedge()) {
+                return;
+            }
+            logger.debug("Hedging {} after {} ms", operation, delay.toMillis());
+            pending.incrementAndGet();
+            track(result, exchanges, pending, exchange(operation, method, path, payload));
+        });
+
+        result.whenComplete((response, error) -> exchanges.forEach(exchange -> exchange.cancel(false)));
+        return result;
+    }
+
+    private static void track(CompletableFuture<SimpleHttpResponse> result,
+                              List<CompletableFuture<SimpleHttpResponse>> exchanges, AtomicInteger pending,
+                              CompletableFuture<SimpleHttpResponse> exchange) {
+        exchanges.add(exchange);
+        exchange.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(response);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+        if (result.isDone()) {
+            exchange.cancel(false);
+        }
+    }
+
+    /**
+     * Sends one exchange to the base URL or, with several endpoints, to the one the load balancer
+     * picks; server errors count against that endpoint.
+     */
+    private CompletableFuture<SimpleHttpResponse> exchange(String operation, Method method, String path, Payload payload) {
+        if (loadBalancer == null) {
+            return send(operation, createRequest(method, baseUrl + path), payload);
+        }
+        Endpoint endpoint = loadBalancer.choose();
+        return endpoint.executeAsync(() -> send(operation, createRequest(method, endpoint.getUrl() + path), payload),
+            response -> response.getCode() >= 500);
+    }
+
+    /**
+     * Sends one exchange. The body is retained until the client reports the exchange over, so
+     * its buffers are not reused while an abandoned hedge may still be writing them.
+     */
+    private CompletableFuture<SimpleHttpResponse> send(String operation, SimpleHttpRequest request, Payload payload) {
+        request.setConfig(timeoutManager.getRequestConfig(operation));
+        AsyncEntityProducer entity = null;
+        if (payload != null) {
+            entity = payload.body().retain().entityProducer(payload.contentType(), payload.contentEncoding());
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<SimpleHttpResponse> future = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = asyncHttpClient.execute(new BasicRequestProducer(request, entity),
+            SimpleResponseConsumer.create(), new FutureCallback<SimpleHttpResponse>() {
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    release(payload);
+                    future.complete(response);
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    release(payload);
+                    future.completeExceptionally(ex);
+                }
+
+                @Override
+                public void cancelled() {
+                    release(payload);
+                    future.cancel(false);
+                }
+            });
+
+        // Cancelling the returned future aborts the exchange. A cancelled exchange, such as the
+        // losing side of a hedge, would have taken at least as long as it ran, so its elapsed time
+        // is still sampled; dropping it would leave only the fast exchanges in the percentiles.
+        future.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                exchange.cancel(true);
+            }
+            timeoutManager.recordOperation(operation, Duration.ofNanos(System.nanoTime() - start), isTimeout(error));
+        });
+        return future;
+    }
+
+    private SimpleHttpRequest createRequest(Method method, String url) {
+        SimpleHttpRequest request = SimpleHttpRequest.create(method, URI.create(url));
+        request.setHeader(HttpHeaders.ACCEPT, codecs.getAccept());
+        if (compression != null) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, compression.getAcceptEncoding());
+        }
+        return request;
+    }
+
+    private Payload encode(Payload payload) {
+        if (payload == null || compression == null) {
+            return payload;
+        }
+        PooledBody encoded = PooledBody.allocate(bufferPool);
+        if (compression.encode(payload.body(), encoded)) {
+            payload.body().release();
+            return new Payload(encoded, payload.contentType(), compression.getRequestEncoding().token());
+        }
+        encoded.release();
+        return payload;
+    }
+
+    private static void release(Payload payload) {
+        if (payload != null) {
+            payload.body().release();
+        }
+    }
+
+    private SimpleHttpResponse decode(SimpleHttpResponse response) {
+        Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (compression == null || contentEncoding == null || !compression.canDecode(contentEncoding.getValue())) {
+            return response;
+        }
+        try {
+            response.setBody(compression.decode(contentEncoding.getValue(), response.getBodyBytes()),
+                response.getContentType());
+        } catch (IOException e) {
+            throw new RestClientException(clientName, "Failed to decode " + contentEncoding.getValue() + " response body", e);
+        }
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+        return response;
+    }
+
+    private SimpleHttpResponse checkStatus(SimpleHttpResponse response) {
+        if (response.getCode() >= 400) {
+            String body = response.getBodyText();
+            if (body != null && body.length() > RestClientErrorHandler.DEFAULT_MAX_BODY_SIZE) {
+                body = body.substring(0, RestClientErrorHandler.DEFAULT_MAX_BODY_SIZE) + "...";
+            }
+            throw new RestClientException(clientName, HttpStatus.resolve(response.getCode()),
+                body, "HTTP error occurred: " + response.getCode());
+        }
+        return response;
+    }
+
+    private Payload writeBody(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return new Payload(PooledBody.wrap(bytes), ContentType.APPLICATION_JSON, null);
+        }
+        if (body instanceof String text) {
+            return new Payload(PooledBody.wrap(text.getBytes(StandardCharsets.UTF_8)), ContentType.APPLICATION_JSON, null);
+        }
+        PooledBody pooled = PooledBody.allocate(bufferPool);
+        try (OutputStream out = pooled.outputStream()) {
+            codecs.getRequestCodec().write(body, out);
+            return new Payload(pooled, requestContentType, null);
+        } catch (IOException e) {
+            pooled.release();
+            throw new RestClientException(clientName, "Failed to write request body", e);
+        }
+    }
+
+    private <T> T readBody(SimpleHttpResponse response, Class<T> responseType) {
+        byte[] bytes = response.getBodyBytes();
+        if (bytes == null || responseType == Void.class) {
+            return null;
+        }
+        if (responseType == byte[].class) {
+            return responseType.cast(bytes);
+        }
+        if (responseType == String.class) {
+            return responseType.cast(response.getBodyText());
+        }
+        ContentType contentType = response.getContentType();
+        try {
+            return codecs.forContentType(contentType != null ? contentType.toString() : null).read(bytes, responseType);
+        } catch (IOException e) {
+            throw new RestClientException(clientName, "Failed to read response body", e);
+        }
+    }
+
+    /**
+     * Completes a limiter permit for a failed call. Timeouts, I/O failures and overload statuses
+     * are drops; anything else (including an open circuit) says nothing about downstream capacity.
+     */
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable error) {
+        Throwable cause = unwrap(error);
+        HttpStatusCode status = null;
+        if (cause instanceof RestClientResponseException e) {
+            status = e.getStatusCode();
+        } else if (cause instanceof RestClientException e) {
+            status = e.getStatusCode();
+        }
+
+        if (cause instanceof IOException || cause instanceof TimeoutException || cause instanceof ResourceAccessException
+            || (status != null && (status.value() == 429 || status.value() == 503))) {
+            permit.onDropped();
+        } else {
+            permit.onIgnore();
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof InterruptedIOException || cause instanceof TimeoutException;
+    }
+
+    private static int statusOf(SimpleHttpResponse response, Throwable error) {
+        if (response != null) {
+            return response.getCode();
+        }
+        if (unwrap(error) instanceof RestClientException e && e.getStatusCode() != null) {
+            return e.getStatusCode().value();
+        }
+        return -1;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * A request body as sent, with its Content-Type and the Content-Encoding it was encoded with, if any.
+     */
+    private record Payload(PooledBody body, ContentType contentType, String contentEncoding) {
+    }
+}
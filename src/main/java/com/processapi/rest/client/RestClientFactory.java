@@ -1,17 +1,86 @@
 package com.processapi.rest.client;
 
+import com.processapi.rest.batch.BatchMapping;
+import com.processapi.rest.batch.Batcher;
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.bulkhead.Bulkhead;
+import com.processapi.rest.bulkhead.BulkheadFactory;
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.circuitbreaker.CircuitBreakerConfig;
+import com.processapi.rest.circuitbreaker.CircuitBreakerFactory;
+import com.processapi.rest.codec.CodecFactory;
+import com.processapi.rest.compression.Compression;
+import com.processapi.rest.compression.CompressionFactory;
 import com.processapi.rest.config.RestClientConfig;
 import com.processapi.rest.config.RestClientProperties;
+import com.processapi.rest.config.RetryConfig;
+import com.processapi.rest.exception.RestClientException;
+import com.processapi.rest.hedging.HedgingPolicy;
+import com.processapi.rest.loadbalancer.LoadBalancer;
+import com.processapi.rest.metrics.RestClientMetrics;
+import com.processapi.rest.ratelimit.AdaptiveConcurrencyLimiter;
+import com.processapi.rest.ratelimit.RateLimiter;
+import com.processapi.rest.retry.RetryBudget;
+import com.processapi.rest.retry.RetryBudgetFactory;
+import com.processapi.rest.timeout.TimeoutConfig;
+import com.processapi.rest.timeout.TimeoutManager;
+import com.processapi.rest.timeout.TimeoutManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
 @Component
-public final class RestClientFactory {
+public final class RestClientFactory implements DisposableBean {
     private final RestClientProperties properties;
+    private final RestClientConfig restClientConfig;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreakerFactory circuitBreakerFactory;
+    private final BulkheadFactory bulkheadFactory;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final RetryConfig retryConfig;
+    private final RetryBudgetFactory retryBudgetFactory;
+    private final TimeoutConfig timeoutConfig;
+    private final TimeoutManagerFactory timeoutManagerFactory;
+    private final RestClientMetrics metrics;
+    private final CompressionFactory compressionFactory;
+    private final BufferPool bufferPool;
+    private final CodecFactory codecFactory;
+    private final Map<String, RestClientBase> clients = new ConcurrentHashMap<>();
 
     @Autowired
-    public RestClientFactory(RestClientProperties properties) {
+    public RestClientFactory(RestClientProperties properties, RestClientConfig restClientConfig, RateLimiter rateLimiter,
+                             AdaptiveConcurrencyLimiter concurrencyLimiter, CircuitBreakerFactory circuitBreakerFactory,
+                             BulkheadFactory bulkheadFactory, CircuitBreakerConfig circuitBreakerConfig,
+                             RetryConfig retryConfig, RetryBudgetFactory retryBudgetFactory, TimeoutConfig timeoutConfig,
+                             TimeoutManagerFactory timeoutManagerFactory, RestClientMetrics metrics,
+                             CompressionFactory compressionFactory, BufferPool bufferPool,
+                             CodecFactory codecFactory) {
         this.properties = properties;
+        this.restClientConfig = restClientConfig;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.bulkheadFactory = bulkheadFactory;
+        this.circuitBreakerConfig = circuitBreakerConfig;
+        this.retryConfig = retryConfig;
+        this.retryBudgetFactory = retryBudgetFactory;
+        this.timeoutConfig = timeoutConfig;
+        this.timeoutManagerFactory = timeoutManagerFactory;
+        this.metrics = metrics;
+        this.compressionFactory = compressionFactory;
+        this.bufferPool = bufferPool;
+        this.codecFactory = codecFactory;
     }
 
     public RestClientBase createClient(String clientName) {
@@ -19,6 +88,95 @@ public final class RestClientFactory {
         if (clientConfig == null) {
             throw new IllegalArgumentException("No configuration found for client: " + clientName);
         }
-        return new RestClientBase(clientConfig);
+        return clients.computeIfAbsent(clientName, k -> buildClient(clientName, clientConfig));
+    }
+
+    /**
+     * Creates a {@link Batcher} that sends items submitted to it to {@code path} on the named
+     * client in batches, sized and timed by the client's {@code batching} settings.
+     */
+    public <I, O, B> Batcher<I, O, B> createBatcher(String clientName, String path, BatchMapping<I, O, B> mapping) {
+        RestClientBase client = createClient(clientName);
+        RestClientProperties.BatchingConfig batching = properties.getClients().get(clientName).getBatching();
+        return new Batcher<>(client, path, mapping, batching.getMaxBatchSize(), Duration.ofMillis(batching.getMaxLinger()));
+    }
+
+    private RestClientBase buildClient(String clientName, RestClientProperties.ClientConfig clientConfig) {
+        RestClient restClient = restClientConfig.restClients().get(clientName);
+        if (restClient == null) {
+            throw new RestClientException(clientName, "REST client was not created for: " + clientName);
+        }
+
+        CloseableHttpAsyncClient asyncHttpClient;
+        try {
+            asyncHttpClient = restClientConfig.createAsyncHttpClient(clientName, clientConfig);
+        } catch (Exception e) {
+            throw new RestClientException(clientName, "Failed to create async HTTP client for: " + clientName, e);
+        }
+
+        TimeoutManager timeoutManager = timeoutManagerFactory.getTimeoutManager(clientName, timeoutConfig);
+
+        ExecutorService executor = null;
+        if (clientConfig.getExecutionMode() == RestClientProperties.ExecutionMode.VIRTUAL_THREADS) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(clientName + "-vt-", 0).factory());
+        }
+
+        CircuitBreaker circuitBreaker = clientConfig.getHealthCheckPath() != null
+            ? circuitBreakerFactory.getCircuitBreaker(clientName, circuitBreakerConfig,
+                () -> restClientConfig.isHealthy(clientName, clientConfig))
+            : circuitBreakerFactory.getCircuitBreaker(clientName, circuitBreakerConfig);
+
+        RestClientProperties.HedgingConfig hedging = clientConfig.getHedging();
+        HedgingPolicy hedgingPolicy = hedging.isEnabled()
+            ? new HedgingPolicy(hedging.getPercentile(), hedging.getBudgetPercent(), hedging.getMaxBurst())
+            : null;
+
+        Compression compression = clientConfig.getCompression().isEnabled()
+            ? compressionFactory.getCompression(clientName, clientConfig.getCompression())
+            : null;
+
+        LoadBalancer loadBalancer = restClientConfig.getLoadBalancer(clientName, clientConfig);
+        Bulkhead bulkhead = bulkheadFactory.getBulkhead(clientName, clientConfig.getBulkhead());
+        RetryBudget retryBudget = retryBudgetFactory.getRetryBudget(clientName, retryConfig);
+        metrics.bindRateLimiter(clientName, rateLimiter);
+        metrics.bindConcurrencyLimiter(clientName, concurrencyLimiter);
+        metrics.bindCircuitBreaker(clientName, circuitBreaker);
+        metrics.bindBulkhead(clientName, bulkhead);
+        metrics.bindRetryBudget(clientName, retryBudget);
+        metrics.bindTimeoutManager(clientName, timeoutManager);
+        if (hedgingPolicy != null) {
+            metrics.bindHedgingPolicy(clientName, hedgingPolicy);
+        }
+        if (loadBalancer != null) {
+            metrics.bindLoadBalancer(clientName, loadBalancer);
+        }
+
+        log.info("Created REST client facade for: {} ({})", clientName, clientConfig.getExecutionMode());
+        return new RestClientBase(
+            clientName,
+            clientConfig.getBaseUrl(),
+            loadBalancer,
+            restClient,
+            asyncHttpClient,
+            circuitBreaker,
+            bulkhead,
+            executor,
+            rateLimiter,
+            concurrencyLimiter,
+            timeoutManager,
+            retryConfig,
+            retryBudget,
+            hedgingPolicy,
+            compression,
+            bufferPool,
+            metrics.getClientMetrics(clientName),
+            codecFactory.getCodecs(clientName, clientConfig.getCodec())
+        );
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(RestClientBase::close);
+        clients.clear();
     }
-} 
\ No newline at end of file
+}
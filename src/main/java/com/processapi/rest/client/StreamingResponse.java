@@ -0,0 +1,38 @@
+package com.processapi.rest.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A response whose body has not been read. The body can be consumed once, either as a stream or
+ * as a channel, and is only valid until the handler it was passed to returns.
+ */
+public final class StreamingResponse {
+    private final ClientHttpResponse response;
+
+    StreamingResponse(ClientHttpResponse response) {
+        this.response = response;
+    }
+
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    public InputStream getInputStream() throws IOException {
+        return response.getBody();
+    }
+
+    public ReadableByteChannel getChannel() throws IOException {
+        return Channels.newChannel(response.getBody());
+    }
+}
@@ -0,0 +1,11 @@
+package com.processapi.rest.client;
+
+import java.io.IOException;
+
+/**
+ * Consumes a {@link StreamingResponse} while its connection is open.
+ */
+@FunctionalInterface
+public interface StreamingResponseHandler<T> {
+    T handle(StreamingResponse response) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.processapi.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Creates the CBOR codec. Kept apart from {@link JacksonCodec} so that linking it does not load
+ * the optional {@code jackson-dataformat-cbor}; only touch it once that is known to be present.
+ */
+final class CborCodec {
+
+    private CborCodec() {
+    }
+
+    static JacksonCodec create(ObjectMapper mapper) {
+        return new JacksonCodec(mapper.copyWith(new CBORFactory()), MediaType.APPLICATION_CBOR);
+    }
+}
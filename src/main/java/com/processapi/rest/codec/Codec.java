@@ -0,0 +1,29 @@
+package com.processapi.rest.codec;
+
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Serializes request and response bodies in one media type. A codec is shared by every call of
+ * the clients using it and must be thread-safe. Register an implementation as a bean and list
+ * its bean name under a client's {@code codec.formats} to use it.
+ */
+public interface Codec {
+
+    MediaType getMediaType();
+
+    /**
+     * Writes {@code value} to {@code out} without closing it.
+     */
+    void write(Object value, OutputStream out) throws IOException;
+
+    <T> T read(InputStream in, Class<T> type) throws IOException;
+
+    default <T> T read(byte[] body, Class<T> type) throws IOException {
+        return read(new ByteArrayInputStream(body), type);
+    }
+}
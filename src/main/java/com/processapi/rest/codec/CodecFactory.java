@@ -0,0 +1,78 @@
+package com.processapi.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processapi.rest.config.RestClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves each client's {@code codec.formats}. {@code json}, {@code cbor} and {@code smile} are
+ * built in and share the application's {@link ObjectMapper} configuration; any other name is
+ * looked up as a {@link Codec} bean. Clients without codecs enabled share a JSON codec.
+ */
+@Slf4j
+@Component
+public class CodecFactory {
+    private final ObjectMapper objectMapper;
+    private final BeanFactory beanFactory;
+    private final Map<String, Codec> builtIn = new ConcurrentHashMap<>();
+    private final Map<String, Codecs> codecs = new ConcurrentHashMap<>();
+    private final Codecs defaultCodecs;
+
+    public CodecFactory(ObjectMapper objectMapper, BeanFactory beanFactory) {
+        this.objectMapper = objectMapper;
+        this.beanFactory = beanFactory;
+        this.defaultCodecs = new Codecs(List.of(builtIn("json")));
+    }
+
+    public Codecs getCodecs(String name, RestClientProperties.CodecConfig config) {
+        if (!config.isEnabled()) {
+            return defaultCodecs;
+        }
+        return codecs.computeIfAbsent(name, k -> {
+            List<Codec> resolved = new ArrayList<>();
+            for (String format : config.getFormats()) {
+                resolved.add(codec(format));
+            }
+            Codecs clientCodecs = new Codecs(resolved);
+            log.info("Creating codecs for: {} ({})", name, clientCodecs.getAccept());
+            return clientCodecs;
+        });
+    }
+
+    private Codec codec(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "json", "cbor", "smile" -> builtIn(format.toLowerCase(Locale.ROOT));
+            default -> beanFactory.getBean(format, Codec.class);
+        };
+    }
+
+    private Codec builtIn(String format) {
+        return builtIn.computeIfAbsent(format, k -> switch (format) {
+            case "cbor" -> {
+                requireClass(format, "com.fasterxml.jackson.dataformat.cbor.CBORFactory", "jackson-dataformat-cbor");
+                yield CborCodec.create(objectMapper);
+            }
+            case "smile" -> {
+                requireClass(format, "com.fasterxml.jackson.dataformat.smile.SmileFactory", "jackson-dataformat-smile");
+                yield SmileCodec.create(objectMapper);
+            }
+            default -> JacksonCodec.json(objectMapper);
+        });
+    }
+
+    private static void requireClass(String format, String className, String artifact) {
+        if (!ClassUtils.isPresent(className, CodecFactory.class.getClassLoader())) {
+            throw new IllegalStateException("Codec format " + format + " needs com.fasterxml.jackson.dataformat:"
+                + artifact + " on the classpath");
+        }
+    }
+}
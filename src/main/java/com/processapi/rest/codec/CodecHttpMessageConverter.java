@@ -0,0 +1,37 @@
+package com.processapi.rest.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Lets the blocking {@link org.springframework.web.client.RestClient} path use a {@link Codec}.
+ * Besides the codec's own media type it handles structured-syntax variants of it, for example
+ * {@code application/problem+json} for JSON.
+ */
+public class CodecHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private final Codec codec;
+
+    public CodecHttpMessageConverter(Codec codec) {
+        super(codec.getMediaType(), new MediaType(codec.getMediaType().getType(), "*+" + codec.getMediaType().getSubtype()));
+        this.codec = codec;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return codec.read(inputMessage.getBody(), clazz);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        codec.write(value, outputMessage.getBody());
+    }
+}
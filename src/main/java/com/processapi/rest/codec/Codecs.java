@@ -0,0 +1,74 @@
+package com.processapi.rest.codec;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * The codecs of one client in order of preference. Request bodies are written with the first;
+ * responses are read with the codec matching their Content-Type, and {@link #getAccept()} asks
+ * for the formats in the same order.
+ */
+public class Codecs {
+    private final List<Codec> codecs;
+    private final String accept;
+
+    public Codecs(List<Codec> codecs) {
+        if (codecs.isEmpty()) {
+            throw new IllegalArgumentException("At least one codec is required");
+        }
+        this.codecs = List.copyOf(codecs);
+        this.accept = accept(this.codecs);
+    }
+
+    public Codec getRequestCodec() {
+        return codecs.get(0);
+    }
+
+    public List<Codec> getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Accept header value listing every codec's media type with decreasing quality.
+     */
+    public String getAccept() {
+        return accept;
+    }
+
+    /**
+     * Returns the codec for a response Content-Type, treating structured suffixes such as
+     * {@code application/problem+json} as their base format. Falls back to the preferred codec
+     * when the type is missing, malformed or not handled by any codec.
+     */
+    public Codec forContentType(String contentType) {
+        if (contentType == null) {
+            return getRequestCodec();
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return getRequestCodec();
+        }
+        for (Codec codec : codecs) {
+            MediaType supported = codec.getMediaType();
+            if (supported.isCompatibleWith(type)
+                || (supported.getType().equals(type.getType()) && supported.getSubtype().equals(type.getSubtypeSuffix()))) {
+                return codec;
+            }
+        }
+        return getRequestCodec();
+    }
+
+    private static String accept(List<Codec> codecs) {
+        StringJoiner accept = new StringJoiner(", ");
+        for (int i = 0; i < codecs.size(); i++) {
+            String type = codecs.get(i).getMediaType().toString();
+            accept.add(i == 0 ? type : type + ";q=" + Math.max(1, 10 - i) / 10.0);
+        }
+        return accept.toString();
+    }
+}
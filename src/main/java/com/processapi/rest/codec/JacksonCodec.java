@@ -0,0 +1,65 @@
+package com.processapi.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Jackson codec that streams bodies through an {@link ObjectReader} or {@link ObjectWriter}
+ * resolved once per type, so serializers are not looked up again on every call. The binary
+ * formats are created by {@link CborCodec} and {@link SmileCodec}, which are only loaded once
+ * their optional Jackson dataformat is known to be on the classpath.
+ */
+public class JacksonCodec implements Codec {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final MediaType mediaType;
+    private final ClassValue<ObjectReader> readers;
+    private final ClassValue<ObjectWriter> writers;
+
+    public JacksonCodec(ObjectMapper mapper, MediaType mediaType) {
+        this.mediaType = mediaType;
+        this.readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return mapper.readerFor(type);
+            }
+        };
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return mapper.writerFor(type);
+            }
+        };
+    }
+
+    public static JacksonCodec json(ObjectMapper mapper) {
+        return new JacksonCodec(mapper, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public void write(Object value, OutputStream out) throws IOException {
+        writers.get(value.getClass()).writeValue(StreamUtils.nonClosing(out), value);
+    }
+
+    @Override
+    public <T> T read(InputStream in, Class<T> type) throws IOException {
+        return readers.get(type).readValue(in);
+    }
+
+    @Override
+    public <T> T read(byte[] body, Class<T> type) throws IOException {
+        return readers.get(type).readValue(body);
+    }
+}
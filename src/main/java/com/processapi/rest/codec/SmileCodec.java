@@ -0,0 +1,18 @@
+package com.processapi.rest.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Creates the Smile codec. Kept apart from {@link JacksonCodec} so that linking it does not load
+ * the optional {@code jackson-dataformat-smile}; only touch it once that is known to be present.
+ */
+final class SmileCodec {
+
+    private SmileCodec() {
+    }
+
+    static JacksonCodec create(ObjectMapper mapper) {
+        return new JacksonCodec(mapper.copyWith(new SmileFactory()), JacksonCodec.APPLICATION_SMILE);
+    }
+}
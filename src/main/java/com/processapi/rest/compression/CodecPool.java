@@ -0,0 +1,65 @@
+package com.processapi.rest.compression;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pools of {@link Deflater}s, {@link Inflater}s and I/O buffers. Codecs hold native
+ * zlib state that is expensive to create and is only freed by {@code end()} or finalization, so
+ * they are reset and reused rather than created per request. Objects returned when a pool is
+ * full are discarded, ending codecs immediately.
+ */
+final class CodecPool {
+    static final int BUFFER_SIZE = 8192;
+
+    private final int level;
+    private final Queue<Deflater> gzipDeflaters;
+    private final Queue<Deflater> zlibDeflaters;
+    private final Queue<Inflater> gzipInflaters;
+    private final Queue<Inflater> zlibInflaters;
+    private final Queue<byte[]> buffers;
+
+    CodecPool(int level, int capacity) {
+        this.level = level;
+        this.gzipDeflaters = new ArrayBlockingQueue<>(capacity);
+        this.zlibDeflaters = new ArrayBlockingQueue<>(capacity);
+        this.gzipInflaters = new ArrayBlockingQueue<>(capacity);
+        this.zlibInflaters = new ArrayBlockingQueue<>(capacity);
+        this.buffers = new ArrayBlockingQueue<>(capacity * 2);
+    }
+
+    Deflater deflater(ContentCoding coding) {
+        Deflater deflater = (coding.nowrap() ? gzipDeflaters : zlibDeflaters).poll();
+        return deflater != null ? deflater : new Deflater(level, coding.nowrap());
+    }
+
+    void release(ContentCoding coding, Deflater deflater) {
+        deflater.reset();
+        if (!(coding.nowrap() ? gzipDeflaters : zlibDeflaters).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    Inflater inflater(ContentCoding coding) {
+        Inflater inflater = (coding.nowrap() ? gzipInflaters : zlibInflaters).poll();
+        return inflater != null ? inflater : new Inflater(coding.nowrap());
+    }
+
+    void release(ContentCoding coding, Inflater inflater) {
+        inflater.reset();
+        if (!(coding.nowrap() ? gzipInflaters : zlibInflaters).offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    byte[] buffer() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[BUFFER_SIZE];
+    }
+
+    void release(byte[] buffer) {
+        buffers.offer(buffer);
+    }
+}
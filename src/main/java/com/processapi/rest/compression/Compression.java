@@ -0,0 +1,229 @@
+package com.processapi.rest.compression;
+
+import com.processapi.rest.body.PooledBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Per-client content coding. Request bodies of at least {@code minRequestSize} bytes are encoded
+ * with the configured coding and sent as-is when that does not make them smaller; gzip and
+ * deflate responses are inflated as they are read. Deflaters, inflaters and buffers come from a
+ * bounded pool, and the bytes saved and the time spent in zlib are counted in both directions.
+ */
+public class Compression {
+    private static final String ACCEPT_ENCODING = ContentCoding.GZIP.token() + ", " + ContentCoding.DEFLATE.token();
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final String name;
+    private final ContentCoding requestEncoding;
+    private final int minRequestSize;
+    private final CodecPool pool;
+
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder requestEncodedBytes = new LongAdder();
+    private final LongAdder responseEncodedBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+
+    /**
+     * @param requestEncoding coding for request bodies, or {@code null} to send them unencoded
+     * @param level           deflate level, 1 (fastest) to 9 (smallest)
+     * @param poolSize        codecs of each kind kept for reuse
+     */
+    public Compression(String name, ContentCoding requestEncoding, int minRequestSize, int level, int poolSize) {
+        this.name = name;
+        this.requestEncoding = requestEncoding;
+        this.minRequestSize = minRequestSize;
+        this.pool = new CodecPool(level, poolSize);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Value for the Accept-Encoding request header.
+     */
+    public String getAcceptEncoding() {
+        return ACCEPT_ENCODING;
+    }
+
+    public ContentCoding getRequestEncoding() {
+        return requestEncoding;
+    }
+
+    /**
+     * Returns the body encoded with {@link #getRequestEncoding()}, or {@code null} if it should be
+     * sent unencoded because it is below the threshold or does not compress.
+     */
+    public byte[] encode(byte[] body) {
+        if (requestEncoding == null || body == null || body.length < minRequestSize) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 2));
+        return deflate(new ByteBuffer[] {ByteBuffer.wrap(body)}, body.length, out) ? out.toByteArray() : null;
+    }
+
+    /**
+     * Encodes {@code body} into {@code target} straight from its buffers. Returns {@code false},
+     * leaving {@code target} to be discarded, if the body should be sent unencoded.
+     */
+    public boolean encode(PooledBody body, PooledBody target) {
+        if (requestEncoding == null || body == null || body.size() < minRequestSize) {
+            return false;
+        }
+        return deflate(body.views(), body.size(), target.outputStream());
+    }
+
+    /**
+     * Returns a stream that decodes {@code body} as it is read, or {@code body} itself if
+     * {@code contentEncoding} is absent or not a coding this class handles. The decoder's codec
+     * goes back to the pool when the returned stream is closed.
+     */
+    public InputStream decode(String contentEncoding, InputStream body) {
+        ContentCoding coding = ContentCoding.of(contentEncoding);
+        if (coding == null || body == null) {
+            return body;
+        }
+        return new DecodingInputStream(body, coding, this, pool);
+    }
+
+    /**
+     * Decodes a fully read body, or returns it unchanged if {@code contentEncoding} is absent or
+     * not a coding this class handles.
+     */
+    public byte[] decode(String contentEncoding, byte[] body) throws IOException {
+        if (ContentCoding.of(contentEncoding) == null || body == null || body.length == 0) {
+            return body;
+        }
+        try (InputStream in = decode(contentEncoding, new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Returns whether a response with this Content-Encoding would be decoded.
+     */
+    public boolean canDecode(String contentEncoding) {
+        return ContentCoding.of(contentEncoding) != null;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    public long getRequestEncodedBytes() {
+        return requestEncodedBytes.sum();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    public long getResponseEncodedBytes() {
+        return responseEncodedBytes.sum();
+    }
+
+    public long getRequestBytesSaved() {
+        return requestBytes.sum() - requestEncodedBytes.sum();
+    }
+
+    public long getResponseBytesSaved() {
+        return responseBytes.sum() - responseEncodedBytes.sum();
+    }
+
+    public long getEncodeNanos() {
+        return encodeNanos.sum();
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos.sum();
+    }
+
+    void onDecoded(long encoded, long decoded, long nanos) {
+        responseEncodedBytes.add(encoded);
+        responseBytes.add(decoded);
+        decodeNanos.add(nanos);
+    }
+
+    void release(ContentCoding coding, Inflater inflater, byte[] buffer) {
+        pool.release(coding, inflater);
+        pool.release(buffer);
+    }
+
+    /**
+     * Deflates {@code input} into {@code out}, giving up as soon as the output is no smaller than
+     * the input. Returns whether the encoded body is the one to send.
+     */
+    private boolean deflate(ByteBuffer[] input, long size, OutputStream out) {
+        long start = System.nanoTime();
+        Deflater deflater = pool.deflater(requestEncoding);
+        byte[] buffer = pool.buffer();
+        try {
+            CRC32 crc = requestEncoding == ContentCoding.GZIP ? new CRC32() : null;
+            long written = 0;
+            if (crc != null) {
+                out.write(GZIP_HEADER);
+                written += GZIP_HEADER.length;
+            }
+            for (ByteBuffer chunk : input) {
+                if (written >= size) {
+                    break;
+                }
+                if (crc != null) {
+                    crc.update(chunk.duplicate());
+                }
+                deflater.setInput(chunk);
+                while (!deflater.needsInput() && written < size) {
+                    int n = deflater.deflate(buffer);
+                    out.write(buffer, 0, n);
+                    written += n;
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished() && written < size) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+                written += n;
+            }
+            if (crc != null) {
+                writeIntLE(out, (int) crc.getValue());
+                writeIntLE(out, (int) size);
+                written += 8;
+            }
+
+            requestBytes.add(size);
+            if (written >= size) {
+                requestEncodedBytes.add(size);
+                return false;
+            }
+            requestEncodedBytes.add(written);
+            return true;
+        } catch (IOException e) {
+            // Both targets are in memory
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.release(requestEncoding, deflater);
+            pool.release(buffer);
+            encodeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+}
@@ -0,0 +1,27 @@
+package com.processapi.rest.compression;
+
+import com.processapi.rest.config.RestClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class CompressionFactory {
+    private final Map<String, Compression> compressions = new ConcurrentHashMap<>();
+
+    public Compression getCompression(String name, RestClientProperties.CompressionConfig config) {
+        return compressions.computeIfAbsent(name, k -> {
+            ContentCoding requestEncoding = config.isEncodeRequests() ? config.getRequestEncoding() : null;
+            log.info("Creating compression for: {} (request encoding {}, min size {} bytes)",
+                name, requestEncoding, config.getMinRequestSize());
+            return new Compression(name, requestEncoding, config.getMinRequestSize(), config.getLevel(), config.getPoolSize());
+        });
+    }
+
+    public Map<String, Compression> getCompressions() {
+        return Map.copyOf(compressions);
+    }
+}
@@ -0,0 +1,42 @@
+package com.processapi.rest.compression;
+
+/**
+ * Content codings the client can encode and decode. Both are DEFLATE streams; gzip wraps them in
+ * the RFC 1952 header and CRC trailer, deflate in the RFC 1950 zlib header and Adler-32 trailer.
+ */
+public enum ContentCoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Returns the coding for a Content-Encoding value, or {@code null} if it is not supported.
+     */
+    public static ContentCoding of(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        String value = contentEncoding.trim();
+        if (value.equalsIgnoreCase("gzip") || value.equalsIgnoreCase("x-gzip")) {
+            return GZIP;
+        }
+        if (value.equalsIgnoreCase("deflate")) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    // gzip carries its own header and trailer, so its DEFLATE stream has no zlib wrapper
+    boolean nowrap() {
+        return this == GZIP;
+    }
+}
@@ -0,0 +1,180 @@
+package com.processapi.rest.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates a gzip or deflate body as it is read, using a pooled {@link Inflater} and input
+ * buffer that go back to the pool when the stream is closed. Only the first gzip member is read.
+ */
+final class DecodingInputStream extends InputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InputStream in;
+    private final ContentCoding coding;
+    private final Compression compression;
+    private final Inflater inflater;
+    private final byte[] buffer;
+    private final CRC32 crc;
+    private final byte[] single = new byte[1];
+    private int buffered;
+    private long inflateNanos;
+    private boolean headerRead;
+    private boolean eof;
+    private boolean closed;
+
+    DecodingInputStream(InputStream in, ContentCoding coding, Compression compression, CodecPool pool) {
+        this.in = in;
+        this.coding = coding;
+        this.compression = compression;
+        this.inflater = pool.inflater(coding);
+        this.buffer = pool.buffer();
+        this.crc = coding == ContentCoding.GZIP ? new CRC32() : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (eof) {
+            return -1;
+        }
+        if (!headerRead) {
+            if (crc != null) {
+                readGzipHeader();
+            }
+            headerRead = true;
+        }
+
+        try {
+            while (true) {
+                long start = System.nanoTime();
+                int n = inflater.inflate(b, off, len);
+                inflateNanos += System.nanoTime() - start;
+                if (n > 0) {
+                    if (crc != null) {
+                        crc.update(b, off, n);
+                    }
+                    return n;
+                }
+                if (inflater.finished()) {
+                    if (crc != null) {
+                        readGzipTrailer();
+                    }
+                    eof = true;
+                    return -1;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new ZipException("Preset dictionaries are not supported");
+                }
+                if (inflater.needsInput()) {
+                    buffered = in.read(buffer, 0, buffer.length);
+                    if (buffered == -1) {
+                        throw new EOFException("Unexpected end of " + coding.token() + " stream");
+                    }
+                    inflater.setInput(buffer, 0, buffered);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Invalid " + coding.token() + " data: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return eof || closed ? 0 : 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        compression.onDecoded(inflater.getBytesRead(), inflater.getBytesWritten(), inflateNanos);
+        compression.release(coding, inflater, buffer);
+        in.close();
+    }
+
+    private void readGzipHeader() throws IOException {
+        if (readUShort() != GZIP_MAGIC) {
+            throw new ZipException("Not in gzip format");
+        }
+        if (readUByte() != 8) {
+            throw new ZipException("Unsupported gzip compression method");
+        }
+        int flags = readUByte();
+        skipBytes(6); // MTIME, XFL, OS
+        if ((flags & FEXTRA) != 0) {
+            skipBytes(readUShort());
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FHCRC) != 0) {
+            skipBytes(2);
+        }
+    }
+
+    private void readGzipTrailer() throws IOException {
+        // The trailer starts in the unconsumed tail of the last buffer and may continue in the stream
+        int remaining = inflater.getRemaining();
+        int offset = buffered - remaining;
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            int next = i < remaining ? buffer[offset + i] & 0xff : readUByte();
+            value |= (long) next << (8 * i);
+        }
+        if ((value & 0xffffffffL) != crc.getValue()) {
+            throw new ZipException("Corrupt gzip trailer: CRC mismatch");
+        }
+        if ((value >>> 32) != (inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt gzip trailer: size mismatch");
+        }
+    }
+
+    private int readUByte() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Unexpected end of gzip stream");
+        }
+        return b;
+    }
+
+    private int readUShort() throws IOException {
+        return readUByte() | (readUByte() << 8);
+    }
+
+    private void skipBytes(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUByte();
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readUByte() != 0) {
+            // skip
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.processapi.rest.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opens pooled connections ahead of the first request so that it does not pay for TCP and TLS
+ * setup. Failures are logged and otherwise ignored; requests simply open connections as usual.
+ */
+@Slf4j
+final class ConnectionPoolWarmer {
+
+    private ConnectionPoolWarmer() {
+    }
+
+    /**
+     * Leases {@code connections} endpoints for the route, connects them in parallel and returns
+     * them to the pool as idle, reusable connections.
+     */
+    static void warm(String clientName, PoolingHttpClientConnectionManager connectionManager, HttpRoute route,
+                     int connections, Timeout connectTimeout) {
+        List<ConnectionEndpoint> endpoints = new ArrayList<>();
+        List<Future<?>> connects = new ArrayList<>();
+        int opened = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                ConnectionEndpoint endpoint = connectionManager.lease(clientName + "-prewarm-" + i, route, connectTimeout, null)
+                    .get(connectTimeout);
+                endpoints.add(endpoint);
+                connects.add(executor.submit(() -> {
+                    connectionManager.connect(endpoint, connectTimeout, HttpClientContext.create());
+                    return null;
+                }));
+            }
+            for (Future<?> connect : connects) {
+                connect.get();
+                opened++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Failed to pre-warm connection pool for {}: {}", clientName, e.getMessage());
+        } finally {
+            // Endpoints that failed to connect are discarded by the pool on release
+            endpoints.forEach(endpoint -> connectionManager.release(endpoint, null, TimeValue.NEG_ONE_MILLISECOND));
+        }
+        log.info("Pre-warmed {} of {} connections to {} for {}", opened, connections, route.getTargetHost(), clientName);
+    }
+
+    /**
+     * The async pool only connects through the client's I/O reactor, so it is warmed with
+     * concurrent HEAD requests to the base URL, each of which needs a connection of its own.
+     */
+    static void warm(String clientName, CloseableHttpAsyncClient client, String baseUrl, int connections,
+                     Timeout timeout) {
+        RequestConfig requestConfig = RequestConfig.custom().setResponseTimeout(timeout).build();
+        FutureCallback<SimpleHttpResponse> noCallback = null;
+        List<Future<SimpleHttpResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            SimpleHttpRequest request = SimpleRequestBuilder.head(baseUrl).setRequestConfig(requestConfig).build();
+            requests.add(client.execute(request, noCallback));
+        }
+
+        int opened = 0;
+        for (Future<SimpleHttpResponse> request : requests) {
+            try {
+                request.get(timeout.toMilliseconds() * 2, TimeUnit.MILLISECONDS);
+                opened++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Pre-warm request for {} failed: {}", clientName, e.getMessage());
+            }
+        }
+        log.info("Pre-warmed {} of {} async connections to {} for {}", opened, connections, baseUrl, clientName);
+    }
+}
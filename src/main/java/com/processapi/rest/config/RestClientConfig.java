@@ -1,42 +1,87 @@
 package com.processapi.rest.config;
 
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.cache.ResponseCache;
+import com.processapi.rest.cache.ResponseCacheFactory;
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.circuitbreaker.CircuitBreakerFactory;
+import com.processapi.rest.codec.Codec;
+import com.processapi.rest.codec.CodecFactory;
+import com.processapi.rest.codec.CodecHttpMessageConverter;
+import com.processapi.rest.compression.Compression;
+import com.processapi.rest.compression.CompressionFactory;
 import com.processapi.rest.exception.RestClientErrorHandler;
-import com.processapi.rest.interceptor.LoggingRequestInterceptor;
-import com.processapi.rest.interceptor.LoggingResponseInterceptor;
+import com.processapi.rest.exception.RestClientException;
+import com.processapi.rest.http2.Http2ClientHttpRequestFactory;
+import com.processapi.rest.interceptor.CachingInterceptor;
+import com.processapi.rest.interceptor.CoalescingInterceptor;
+import com.processapi.rest.interceptor.CompressionInterceptor;
+import com.processapi.rest.interceptor.InterceptorPipeline;
+import com.processapi.rest.interceptor.LoadBalancingInterceptor;
+import com.processapi.rest.interceptor.MetricsInterceptor;
 import com.processapi.rest.interceptor.RequestInterceptor;
 import com.processapi.rest.interceptor.ResponseInterceptor;
+import com.processapi.rest.interceptor.ResponseInterceptorStage;
 import com.processapi.rest.interceptor.RetryInterceptor;
-import com.processapi.rest.util.CertificateLogger;
+import com.processapi.rest.interceptor.SampledLoggingInterceptor;
+import com.processapi.rest.interceptor.TimeoutInterceptor;
+import com.processapi.rest.loadbalancer.LoadBalancer;
+import com.processapi.rest.loadbalancer.LoadBalancerFactory;
+import com.processapi.rest.logging.AsyncLogWriter;
+import com.processapi.rest.logging.LoggingConfig;
+import com.processapi.rest.metrics.RestClientMetrics;
+import com.processapi.rest.retry.RetryBudgetFactory;
+import com.processapi.rest.timeout.TimeoutConfig;
+import com.processapi.rest.timeout.TimeoutManager;
+import com.processapi.rest.timeout.TimeoutManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.client5.http.classic.HttpClient;
-import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
-import org.apache.hc.core5.http.io.SocketConfig;
-import org.apache.hc.core5.ssl.SSLContextBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.web.client.RestClient;
 
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.io.File;
-import java.io.FileInputStream;
-import java.security.KeyStore;
-import java.time.Duration;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Configuration
@@ -45,102 +90,457 @@ public class RestClientConfig {
 
     private final ApplicationContext applicationContext;
     private final RestClientProperties properties;
-    private final CertificateLogger certificateLogger;
+    private final TimeoutManagerFactory timeoutManagerFactory;
+    private final TimeoutConfig timeoutConfig;
+    private final RetryBudgetFactory retryBudgetFactory;
+    private final RetryConfig retryConfig;
+    private final ResponseCacheFactory responseCacheFactory;
+    private final CircuitBreakerFactory circuitBreakerFactory;
+    private final CompressionFactory compressionFactory;
+    private final CodecFactory codecFactory;
+    private final LoadBalancerFactory loadBalancerFactory;
+    private final LoggingConfig loggingConfig;
+    private final AsyncLogWriter asyncLogWriter;
+    private final RestClientMetrics restClientMetrics;
+    private final BufferPool bodyBufferPool;
+    private final SSLContextCache sslContextCache = new SSLContextCache();
+    private final Map<String, CloseableHttpAsyncClient> http2Clients = new ConcurrentHashMap<>();
+    private final Map<String, RestClient> probeClients = new ConcurrentHashMap<>();
 
+    /**
+     * Builds every configured client in parallel at startup or, with
+     * {@code rest-client.lazy-initialization}, each client when it is first looked up. Clients
+     * that fail to build are logged and left out.
+     */
     @Bean
     public Map<String, RestClient> restClients() {
-        Map<String, RestClient> clients = new HashMap<>();
-        
-        for (Map.Entry<String, RestClientProperties.ClientConfig> entry : properties.getClients().entrySet()) {
-            String clientName = entry.getKey();
-            RestClientProperties.ClientConfig config = entry.getValue();
-            
-            try {
-                CloseableHttpClient httpClient = createHttpClient(config);
-                ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-                
-                RestClient.Builder builder = RestClient.builder()
-                    .baseUrl(config.getBaseUrl())
-                    .requestFactory(requestFactory);
-                
-                clients.put(clientName, builder.build());
-                log.info("Created REST client for: {}", clientName);
-            } catch (Exception e) {
-                log.error("Failed to create REST client for: {}", clientName, e);
-            }
+        if (properties.isLazyInitialization()) {
+            return new LazyRestClients();
+        }
+
+        Map<String, RestClient> clients = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            properties.getClients().forEach((clientName, config) -> executor.execute(() -> {
+                RestClient client = createRestClient(clientName, config);
+                if (client != null) {
+                    clients.put(clientName, client);
+                }
+            }));
         }
-        
         return clients;
     }
 
-    private CloseableHttpClient createHttpClient(RestClientProperties.ClientConfig config) throws Exception {
+    private RestClient createRestClient(String clientName, RestClientProperties.ClientConfig config) {
+        try {
+            TimeoutManager timeoutManager = timeoutManagerFactory.getTimeoutManager(clientName, timeoutConfig);
+            LoadBalancer loadBalancer = getLoadBalancer(clientName, config);
+            ClientHttpRequestFactory requestFactory = config.getTransport() == RestClientProperties.Transport.HTTP2
+                ? new Http2ClientHttpRequestFactory(getHttp2Client(clientName, config), timeoutManager, bodyBufferPool)
+                : createRequestFactory(clientName, config, timeoutManager);
+            probeClients.put(clientName, RestClient.builder().requestFactory(requestFactory).build());
+
+            RestClient.Builder builder = RestClient.builder()
+                .requestFactory(new InterceptorPipeline(requestFactory,
+                    createStages(clientName, config, timeoutManager, loadBalancer)))
+                .defaultStatusHandler(new RestClientErrorHandler(clientName, RestClientErrorHandler.DEFAULT_MAX_BODY_SIZE));
+            if (loadBalancer == null) {
+                builder.baseUrl(config.getBaseUrl());
+            }
+            if (config.getCodec().isEnabled()) {
+                List<Codec> codecs = codecFactory.getCodecs(clientName, config.getCodec()).getCodecs();
+                builder.messageConverters(converters -> converters.addAll(jacksonIndex(converters),
+                    codecs.stream().map(CodecHttpMessageConverter::new).toList()));
+            }
+
+            RestClient client = builder.build();
+            log.info("Created REST client for: {}", clientName);
+            return client;
+        } catch (Exception e) {
+            log.error("Failed to create REST client for: {}", clientName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the client's interceptor stages in the order they run. Only enabled stages are
+     * included; rate limiting and the circuit breaker are applied around the whole exchange by
+     * RestClientBase rather than here. Load balancing follows retry, so every attempt picks an
+     * endpoint of its own.
+     */
+    private List<ClientHttpRequestInterceptor> createStages(String clientName, RestClientProperties.ClientConfig config,
+                                                            TimeoutManager timeoutManager, LoadBalancer loadBalancer) {
+        List<ClientHttpRequestInterceptor> stages = new ArrayList<>();
+        stages.add(new MetricsInterceptor(restClientMetrics.getClientMetrics(clientName)));
+        RestClientProperties.InterceptorsConfig interceptors = config.getInterceptors();
+        if (interceptors.getRequestInterceptors() != null) {
+            interceptors.getRequestInterceptors().values().forEach(beanName ->
+                stages.add(applicationContext.getBean(beanName, RequestInterceptor.class)));
+        }
+        if (interceptors.getResponseInterceptors() != null) {
+            interceptors.getResponseInterceptors().values().forEach(beanName ->
+                stages.add(new ResponseInterceptorStage(applicationContext.getBean(beanName, ResponseInterceptor.class))));
+        }
+        if (config.getCache().isEnabled()) {
+            ResponseCache cache = responseCacheFactory.getResponseCache(clientName, config.getCache());
+            restClientMetrics.bindResponseCache(clientName, cache);
+            stages.add(new CachingInterceptor(cache, () -> isCircuitClosed(clientName)));
+        }
+        RestClientProperties.CoalescingConfig coalescing = config.getCoalescing();
+        if (coalescing.isEnabled()) {
+            stages.add(new CoalescingInterceptor(coalescing.getVaryHeaders(), coalescing.getMaxResponseSize()));
+        }
+        stages.add(new RetryInterceptor(retryConfig, retryBudgetFactory.getRetryBudget(clientName, retryConfig)));
+        if (loadBalancer != null) {
+            stages.add(new LoadBalancingInterceptor(loadBalancer));
+        }
+        if (interceptors.isEnableLogging()) {
+            stages.add(new SampledLoggingInterceptor(clientName, loggingConfig, asyncLogWriter));
+        }
+        if (config.getCompression().isEnabled()) {
+            Compression compression = compressionFactory.getCompression(clientName, config.getCompression());
+            restClientMetrics.bindCompression(clientName, compression);
+            stages.add(new CompressionInterceptor(compression));
+        }
+        stages.add(new TimeoutInterceptor(timeoutManager));
+        return stages;
+    }
+
+    /**
+     * Returns the client's load balancer, or {@code null} when it has a single base URL. While an
+     * endpoint's breaker is open, the endpoint is probed at the client's health check path, over
+     * the client's connections but outside its interceptors, so a probe is never retried, cached,
+     * coalesced with user requests or counted in its metrics.
+     */
+    public LoadBalancer getLoadBalancer(String clientName, RestClientProperties.ClientConfig config) {
+        if (!config.getLoadBalancing().isEnabled()) {
+            return null;
+        }
+        String healthCheckPath = config.getHealthCheckPath();
+        return loadBalancerFactory.getLoadBalancer(clientName, config.getLoadBalancing(), healthCheckPath != null
+            ? url -> isHealthy(probeClient(clientName), url + healthCheckPath)
+            : null);
+    }
+
+    /**
+     * Returns whether the client's breaker lets calls through unconditionally. Background cache
+     * revalidation runs outside the client's guards, so it waits for the breaker to close.
+     */
+    private boolean isCircuitClosed(String clientName) {
+        CircuitBreaker circuitBreaker = circuitBreakerFactory.findCircuitBreaker(clientName);
+        return circuitBreaker == null || circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    private RestClient probeClient(String clientName) {
+        RestClient client = probeClients.get(clientName);
+        if (client == null) {
+            // With lazy initialization the client, and so its probe client, is built on first use
+            restClients().get(clientName);
+            client = probeClients.get(clientName);
+        }
+        if (client == null) {
+            throw new RestClientException(clientName, "No client to probe health with for: " + clientName);
+        }
+        return client;
+    }
+
+    /**
+     * Probes the client's health check path, at its base URL or at an endpoint its load balancer
+     * picks, outside the client's interceptors like the endpoint probes.
+     */
+    public boolean isHealthy(String clientName, RestClientProperties.ClientConfig config) {
+        LoadBalancer loadBalancer = getLoadBalancer(clientName, config);
+        String baseUrl = loadBalancer != null ? loadBalancer.choose().getUrl() : config.getBaseUrl();
+        return isHealthy(probeClient(clientName), baseUrl + config.getHealthCheckPath());
+    }
+
+    private static boolean isHealthy(RestClient restClient, String url) {
+        return restClient.get()
+            .uri(URI.create(url))
+            .retrieve()
+            .toBodilessEntity()
+            .getStatusCode()
+            .is2xxSuccessful();
+    }
+
+    /**
+     * Returns the URLs to open connections to at startup: the client's endpoints, or its base URL.
+     */
+    private List<String> prewarmUrls(String clientName, RestClientProperties.ClientConfig config) {
+        LoadBalancer loadBalancer = getLoadBalancer(clientName, config);
+        if (loadBalancer != null) {
+            return loadBalancer.getEndpointUrls();
+        }
+        return config.getBaseUrl() != null ? List.of(config.getBaseUrl()) : List.of();
+    }
+
+    /**
+     * Position ahead of Spring's Jackson converters, so codecs handle objects but String, byte[]
+     * and form bodies keep their own converters.
+     */
+    private static int jacksonIndex(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof AbstractJackson2HttpMessageConverter) {
+                return i;
+            }
+        }
+        return converters.size();
+    }
+
+    private ClientHttpRequestFactory createRequestFactory(String clientName, RestClientProperties.ClientConfig config,
+                                                         TimeoutManager timeoutManager) throws Exception {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+            new HttpComponentsClientHttpRequestFactory(createHttpClient(clientName, config));
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(timeoutManager.getRequestConfig(
+                TimeoutManager.operationKey(method.name(), uri)));
+            return context;
+        });
+        return requestFactory;
+    }
+
+    public CloseableHttpClient createHttpClient(RestClientProperties.ClientConfig config) throws Exception {
+        return createHttpClient(null, config);
+    }
+
+    /**
+     * Creates the blocking client; when {@code clientName} is given its pool is published to metrics.
+     */
+    public CloseableHttpClient createHttpClient(String clientName, RestClientProperties.ClientConfig config) throws Exception {
         SSLContext sslContext = null;
         if (config.getSsl() != null) {
-            sslContext = createSSLContext(config.getSsl());
+            sslContext = sslContextCache.getSSLContext(config.getSsl());
+        }
+
+        RestClientProperties.ConnectionPoolConfig pool = config.getConnectionPool();
+        PoolingHttpClientConnectionManager connectionManager = createConnectionManager(pool, sslContext);
+        if (clientName != null) {
+            restClientMetrics.bindConnectionPool(clientName, "classic", connectionManager);
         }
 
-        PoolingHttpClientConnectionManager connectionManager = createConnectionManager(config.getConnectionPool());
-        
-        return HttpClients.custom()
+        HttpClientBuilder builder = HttpClients.custom()
             .setConnectionManager(connectionManager)
-            .setSSLSocketFactory(sslContext != null ? new SSLConnectionSocketFactory(sslContext) : null)
-            .build();
+            .evictExpiredConnections();
+        if (pool.getMaxIdleTime() > 0) {
+            builder.evictIdleConnections(TimeValue.ofMilliseconds(pool.getMaxIdleTime()));
+        }
+        if (config.getCompression().isEnabled()) {
+            // Content coding is handled by CompressionInterceptor with pooled codecs
+            builder.disableContentCompression();
+        }
+        CloseableHttpClient httpClient = builder.build();
+
+        if (clientName != null && pool.getPrewarmConnections() > 0) {
+            for (String url : prewarmUrls(clientName, config)) {
+                HttpRoute route = routeOf(url);
+                ConnectionPoolWarmer.warm(clientName, connectionManager, route,
+                    Math.min(pool.getPrewarmConnections(), connectionManager.getMaxPerRoute(route)),
+                    Timeout.ofMilliseconds(pool.getConnectTimeout()));
+            }
+        }
+        return httpClient;
+    }
+
+    public CloseableHttpAsyncClient createAsyncHttpClient(RestClientProperties.ClientConfig config) throws Exception {
+        return createAsyncHttpClient(null, config);
+    }
+
+    /**
+     * Creates and starts the non-blocking client; when {@code clientName} is given its pool is
+     * published to metrics. HTTP/2 clients return the client the blocking path uses, so both
+     * share its connections.
+     */
+    public CloseableHttpAsyncClient createAsyncHttpClient(String clientName, RestClientProperties.ClientConfig config)
+        throws Exception {
+        if (clientName != null && config.getTransport() == RestClientProperties.Transport.HTTP2) {
+            return getHttp2Client(clientName, config);
+        }
+        SSLContext sslContext = null;
+        if (config.getSsl() != null) {
+            sslContext = sslContextCache.getSSLContext(config.getSsl());
+        }
+
+        RestClientProperties.ConnectionPoolConfig pool = config.getConnectionPool();
+        PoolingAsyncClientConnectionManager connectionManager = createAsyncConnectionManager(pool, sslContext);
+        if (clientName != null) {
+            restClientMetrics.bindConnectionPool(clientName, "async", connectionManager);
+        }
+
+        HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections();
+        if (pool.getMaxIdleTime() > 0) {
+            builder.evictIdleConnections(TimeValue.ofMilliseconds(pool.getMaxIdleTime()));
+        }
+        CloseableHttpAsyncClient httpClient = builder.build();
+        httpClient.start();
+
+        if (clientName != null && pool.getPrewarmConnections() > 0) {
+            for (String url : prewarmUrls(clientName, config)) {
+                ConnectionPoolWarmer.warm(clientName, httpClient, url,
+                    Math.min(pool.getPrewarmConnections(), connectionManager.getMaxPerRoute(routeOf(url))),
+                    Timeout.ofMilliseconds(pool.getConnectTimeout()));
+            }
+        }
+        return httpClient;
+    }
+
+    private CloseableHttpAsyncClient getHttp2Client(String clientName, RestClientProperties.ClientConfig config)
+        throws Exception {
+        CloseableHttpAsyncClient client = http2Clients.get(clientName);
+        if (client == null) {
+            synchronized (http2Clients) {
+                client = http2Clients.get(clientName);
+                if (client == null) {
+                    client = createHttp2Client(clientName, config);
+                    http2Clients.put(clientName, client);
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Creates and starts an HTTP/2-only client. Requests to a host are multiplexed over a single
+     * connection; https routes negotiate h2 with ALPN and http routes use h2c with prior knowledge.
+     */
+    private CloseableHttpAsyncClient createHttp2Client(String clientName, RestClientProperties.ClientConfig config)
+        throws Exception {
+        RestClientProperties.ConnectionPoolConfig pool = config.getConnectionPool();
+        RestClientProperties.Http2Config http2 = config.getHttp2();
+        H2AsyncClientBuilder builder = HttpAsyncClients.customHttp2()
+            .setH2Config(H2Config.custom()
+                .setMaxConcurrentStreams(http2.getMaxConcurrentStreams())
+                .setInitialWindowSize(http2.getInitialWindowSize())
+                .setMaxFrameSize(http2.getMaxFrameSize())
+                .setPushEnabled(false)
+                .build())
+            .setIOReactorConfig(IOReactorConfig.custom()
+                .setSoTimeout(Timeout.ofMilliseconds(pool.getSocketTimeout()))
+                .build());
+        if (config.getSsl() != null) {
+            builder.setTlsStrategy(ClientTlsStrategyBuilder.create()
+                .setSslContext(sslContextCache.getSSLContext(config.getSsl()))
+                .build());
+        }
+        CloseableHttpAsyncClient httpClient = builder.build();
+        httpClient.start();
+        log.info("Created HTTP/2 transport for: {}", clientName);
+
+        if (pool.getPrewarmConnections() > 0) {
+            for (String url : prewarmUrls(clientName, config)) {
+                ConnectionPoolWarmer.warm(clientName, httpClient, url, 1, Timeout.ofMilliseconds(pool.getConnectTimeout()));
+            }
+        }
+        return httpClient;
     }
 
-    private PoolingHttpClientConnectionManager createConnectionManager(RestClientProperties.ConnectionPoolConfig config) {
-        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setMaxTotal(config.getMaxTotal());
-        connectionManager.setDefaultMaxPerRoute(config.getDefaultMaxPerRoute());
+    private PoolingHttpClientConnectionManager createConnectionManager(RestClientProperties.ConnectionPoolConfig config,
+                                                                       SSLContext sslContext) throws URISyntaxException {
+        ConnectionConfig defaultConfig = connectionConfig(config, config.getConnectTimeout(), config.getSocketTimeout());
+        Map<HttpRoute, ConnectionConfig> routeConfigs = routeConnectionConfigs(config);
+        PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(config.getMaxTotal())
+            .setMaxConnPerRoute(config.getDefaultMaxPerRoute())
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setConnectionConfigResolver(route -> routeConfigs.getOrDefault(route, defaultConfig));
+        if (sslContext != null) {
+            builder.setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create().setSslContext(sslContext).build());
+        }
+        PoolingHttpClientConnectionManager connectionManager = builder.build();
+        for (Map.Entry<String, RestClientProperties.RouteConfig> route : config.getRoutes().entrySet()) {
+            if (route.getValue().getMaxConnections() != null) {
+                connectionManager.setMaxPerRoute(routeOf(route.getKey()), route.getValue().getMaxConnections());
+            }
+        }
         return connectionManager;
     }
 
-    private SSLContext createSSLContext(RestClientProperties.SSLProperties ssl) throws Exception {
-        SSLContextBuilder builder = SSLContextBuilder.create();
-        
-        if (ssl.getTrustStorePath() != null) {
-            KeyStore trustStore = KeyStore.getInstance(ssl.getTrustStoreType());
-            trustStore.load(new FileInputStream(new File(ssl.getTrustStorePath())), 
-                          ssl.getTrustStorePassword().toCharArray());
-            builder.loadTrustMaterial(trustStore, null);
+    private PoolingAsyncClientConnectionManager createAsyncConnectionManager(RestClientProperties.ConnectionPoolConfig config,
+                                                                             SSLContext sslContext) throws URISyntaxException {
+        ConnectionConfig defaultConfig = connectionConfig(config, config.getConnectTimeout(), config.getSocketTimeout());
+        Map<HttpRoute, ConnectionConfig> routeConfigs = routeConnectionConfigs(config);
+        PoolingAsyncClientConnectionManagerBuilder builder = PoolingAsyncClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(config.getMaxTotal())
+            .setMaxConnPerRoute(config.getDefaultMaxPerRoute())
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setConnectionConfigResolver(route -> routeConfigs.getOrDefault(route, defaultConfig));
+        if (sslContext != null) {
+            builder.setTlsStrategy(ClientTlsStrategyBuilder.create().setSslContext(sslContext).build());
         }
-        
-        if (ssl.getKeyStorePath() != null) {
-            KeyStore keyStore = KeyStore.getInstance(ssl.getKeyStoreType());
-            keyStore.load(new FileInputStream(new File(ssl.getKeyStorePath())), 
-                         ssl.getKeyStorePassword().toCharArray());
-            builder.loadKeyMaterial(keyStore, ssl.getKeyPassword().toCharArray());
+        PoolingAsyncClientConnectionManager connectionManager = builder.build();
+        for (Map.Entry<String, RestClientProperties.RouteConfig> route : config.getRoutes().entrySet()) {
+            if (route.getValue().getMaxConnections() != null) {
+                connectionManager.setMaxPerRoute(routeOf(route.getKey()), route.getValue().getMaxConnections());
+            }
         }
-        
-        return builder.build();
+        return connectionManager;
     }
 
-    @Bean
-    public List<ClientHttpRequestInterceptor> clientHttpRequestInterceptors() {
-        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
-        
-        // Add default logging interceptors if enabled
-        properties.getClients().forEach(client -> {
-            if (client.getInterceptors().isEnableLogging()) {
-                interceptors.add(new LoggingRequestInterceptor());
-                interceptors.add(new LoggingResponseInterceptor());
+    /**
+     * Returns the connection settings of every route that overrides a timeout.
+     */
+    private static Map<HttpRoute, ConnectionConfig> routeConnectionConfigs(RestClientProperties.ConnectionPoolConfig config)
+        throws URISyntaxException {
+        Map<HttpRoute, ConnectionConfig> routeConfigs = new HashMap<>();
+        for (Map.Entry<String, RestClientProperties.RouteConfig> route : config.getRoutes().entrySet()) {
+            RestClientProperties.RouteConfig override = route.getValue();
+            if (override.getConnectTimeout() != null || override.getSocketTimeout() != null) {
+                routeConfigs.put(routeOf(route.getKey()), connectionConfig(config,
+                    override.getConnectTimeout() != null ? override.getConnectTimeout() : config.getConnectTimeout(),
+                    override.getSocketTimeout() != null ? override.getSocketTimeout() : config.getSocketTimeout()));
             }
-            
-            // Add custom request interceptors
-            client.getInterceptors().getRequestInterceptors().forEach(interceptorName -> {
-                RequestInterceptor interceptor = applicationContext.getBean(interceptorName, RequestInterceptor.class);
-                interceptors.add((request, body, execution) -> interceptor.intercept(request, body, execution));
-            });
-            
-            // Add custom response interceptors
-            client.getInterceptors().getResponseInterceptors().forEach(interceptorName -> {
-                ResponseInterceptor interceptor = applicationContext.getBean(interceptorName, ResponseInterceptor.class);
-                interceptors.add((request, body, execution) -> {
-                    ClientHttpResponse response = execution.execute(request, body);
-                    return interceptor.intercept(response);
-                });
-            });
-        });
-        
-        return interceptors;
+        }
+        return routeConfigs;
+    }
+
+    private static ConnectionConfig connectionConfig(RestClientProperties.ConnectionPoolConfig config,
+                                                     long connectTimeout, long socketTimeout) {
+        return ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+            .setSocketTimeout(Timeout.ofMilliseconds(socketTimeout))
+            .setTimeToLive(config.getTimeToLive() > 0 ? TimeValue.ofMilliseconds(config.getTimeToLive()) : null)
+            .setValidateAfterInactivity(config.getValidateAfterInactivity() > 0
+                ? TimeValue.ofMilliseconds(config.getValidateAfterInactivity())
+                : TimeValue.NEG_ONE_MILLISECOND)
+            .build();
+    }
+
+    /**
+     * Returns the pool route for a URL the way the client's route planner resolves it: default
+     * port filled in and TLS for https.
+     */
+    private static HttpRoute routeOf(String url) throws URISyntaxException {
+        HttpHost host = HttpHost.create(URI.create(url));
+        boolean secure = URIScheme.HTTPS.same(host.getSchemeName());
+        int port = host.getPort() > 0 ? host.getPort() : secure ? 443 : 80;
+        return new HttpRoute(new HttpHost(host.getSchemeName(), host.getHostName(), port), null, secure);
+    }
+
+    /**
+     * Client map that builds each client on first lookup. Iterating it builds every client.
+     */
+    private final class LazyRestClients extends AbstractMap<String, RestClient> {
+        private final Map<String, RestClient> clients = new ConcurrentHashMap<>();
+
+        @Override
+        public RestClient get(Object key) {
+            RestClientProperties.ClientConfig config = properties.getClients().get(key);
+            if (config == null) {
+                return null;
+            }
+            return clients.computeIfAbsent((String) key, clientName -> createRestClient(clientName, config));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return properties.getClients().containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, RestClient>> entrySet() {
+            properties.getClients().keySet().forEach(this::get);
+            return Collections.unmodifiableMap(clients).entrySet();
+        }
     }
-} 
\ No newline at end of file
+}
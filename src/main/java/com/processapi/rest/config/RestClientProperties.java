@@ -1,21 +1,53 @@
 package com.processapi.rest.config;
 
+import com.processapi.rest.compression.ContentCoding;
+import com.processapi.rest.loadbalancer.LoadBalancer;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Data
 @ConfigurationProperties(prefix = "rest-client")
 public class RestClientProperties {
-    private Map<String, ClientConfig> clients;
+    private Map<String, ClientConfig> clients = new HashMap<>();
+    private boolean lazyInitialization = false; // Build each client on first use instead of at startup
 
     @Data
     public static class ClientConfig {
         private String baseUrl;
+        private String healthCheckPath; // Probed by the circuit breaker while open
         private SSLProperties ssl;
-        private ConnectionPoolConfig connectionPool;
-        private InterceptorsConfig interceptors;
+        private ConnectionPoolConfig connectionPool = new ConnectionPoolConfig();
+        private InterceptorsConfig interceptors = new InterceptorsConfig();
+        private ExecutionMode executionMode = ExecutionMode.ASYNC;
+        private Transport transport = Transport.HTTP1;
+        private Http2Config http2 = new Http2Config();
+        private BulkheadConfig bulkhead = new BulkheadConfig();
+        private HedgingConfig hedging = new HedgingConfig();
+        private CacheConfig cache = new CacheConfig();
+        private CoalescingConfig coalescing = new CoalescingConfig();
+        private BatchingConfig batching = new BatchingConfig();
+        private CompressionConfig compression = new CompressionConfig();
+        private CodecConfig codec = new CodecConfig();
+        private LoadBalancingConfig loadBalancing = new LoadBalancingConfig();
+    }
+
+    public enum ExecutionMode {
+        /** Async calls run on the non-blocking HTTP transport. */
+        ASYNC,
+        /** Async calls run the blocking transport on a per-client virtual thread executor. */
+        VIRTUAL_THREADS
+    }
+
+    public enum Transport {
+        /** Pooled HTTP/1.1 connections, one request per connection at a time. */
+        HTTP1,
+        /** HTTP/2 multiplexed over one connection per host: h2 via ALPN for https, h2c with prior knowledge for http. */
+        HTTP2
     }
 
     @Data
@@ -33,13 +65,98 @@ public class RestClientProperties {
     public static class ConnectionPoolConfig {
         private int maxTotal = 20;
         private int defaultMaxPerRoute = 10;
-        private long timeToLive = 60000;
+        private long timeToLive = 60000; // Connections are closed this long after being opened; 0 keeps them indefinitely
+        private long maxIdleTime = 30000; // Idle connections are evicted in the background after this long; 0 disables
+        private long validateAfterInactivity = 2000; // Pooled connections idle this long are checked before reuse; 0 disables
+        private long connectTimeout = 5000;
+        private long socketTimeout = 30000;
+        private int prewarmConnections = 0; // Connections opened to the base URL at startup
+        private Map<String, RouteConfig> routes = new HashMap<>(); // Overrides keyed by scheme://host[:port]
+    }
+
+    @Data
+    public static class RouteConfig {
+        private Integer maxConnections;
+        private Long connectTimeout;
+        private Long socketTimeout;
+    }
+
+    @Data
+    public static class Http2Config {
+        private int maxConcurrentStreams = 100; // SETTINGS_MAX_CONCURRENT_STREAMS sent to the server
+        private int initialWindowSize = 65535; // Per-stream flow-control window (bytes)
+        private int maxFrameSize = 16384;
     }
 
     @Data
     public static class InterceptorsConfig {
-        private boolean enableLogging = true;
+        private boolean enableLogging = false; // Sampled exchange logging, see rest-client.logging
         private Map<String, String> requestInterceptors;
         private Map<String, String> responseInterceptors;
     }
-} 
\ No newline at end of file
+
+    @Data
+    public static class BulkheadConfig {
+        private boolean enabled = false;
+        private int maxConcurrentCalls = 25;
+        private int maxQueueDepth = 50;
+        private long maxWaitDuration = 1000;
+    }
+
+    @Data
+    public static class HedgingConfig {
+        private boolean enabled = false;
+        private double percentile = 95.0;
+        private double budgetPercent = 10.0; // Hedges allowed as a percentage of requests
+        private int maxBurst = 10;
+    }
+
+    @Data
+    public static class CacheConfig {
+        private boolean enabled = false;
+        private long maxSize = 64 * 1024 * 1024; // Bytes of bodies and headers held per client
+        private int maxEntrySize = 1024 * 1024;
+        private int offHeapThreshold = 0; // Bodies at least this large are stored off-heap; 0 disables
+    }
+
+    @Data
+    public static class CoalescingConfig {
+        private boolean enabled = false;
+        private List<String> varyHeaders = new ArrayList<>(List.of("Accept", "Accept-Encoding", "Authorization"));
+        private int maxResponseSize = 1024 * 1024; // Larger responses are not shared with waiting callers
+    }
+
+    @Data
+    public static class BatchingConfig {
+        private int maxBatchSize = 100;
+        private long maxLinger = 10; // Longest an item waits for its batch to fill (ms)
+    }
+
+    @Data
+    public static class CompressionConfig {
+        private boolean enabled = false; // Sends Accept-Encoding and decodes gzip/deflate responses
+        private boolean encodeRequests = true;
+        private ContentCoding requestEncoding = ContentCoding.GZIP;
+        private int minRequestSize = 2048; // Smaller request bodies are sent unencoded
+        private int level = 6; // Deflate level, 1 (fastest) to 9 (smallest)
+        private int poolSize = 32; // Deflaters and inflaters of each kind kept for reuse
+    }
+
+    @Data
+    public static class CodecConfig {
+        private boolean enabled = false; // Use these codecs instead of Spring's converters and the shared JSON codec
+        private List<String> formats = new ArrayList<>(List.of("json")); // json, cbor, smile or Codec bean names; first is sent
+    }
+
+    @Data
+    public static class LoadBalancingConfig {
+        private List<String> endpoints = new ArrayList<>(); // Base URLs balanced across instead of base-url
+        private String endpointsFile; // One base URL per line; reloaded when it changes
+        private LoadBalancer.Strategy strategy = LoadBalancer.Strategy.LEAST_OUTSTANDING;
+        private long decayTime = 10000; // Time constant of the EWMA latency (ms)
+
+        public boolean isEnabled() {
+            return !endpoints.isEmpty() || endpointsFile != null;
+        }
+    }
+}
@@ -10,4 +10,11 @@ public class RetryConfig {
     private long initialInterval = 1000;
     private double multiplier = 2.0;
     private long maxInterval = 10000;
-} 
\ No newline at end of file
+    private Jitter jitter = Jitter.FULL;
+    private double budgetRatio = 0.1;
+    private int budgetMaxRetries = 10;
+
+    public enum Jitter {
+        NONE, FULL, DECORRELATED
+    }
+}
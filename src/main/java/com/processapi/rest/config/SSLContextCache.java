@@ -0,0 +1,92 @@
+package com.processapi.rest.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.ssl.SSLContextBuilder;
+
+import javax.net.ssl.SSLContext;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Loads key and trust stores and builds SSL contexts once per distinct configuration, so clients
+ * that point at the same stores share them. Concurrent requests for the same store wait for the
+ * first load instead of reading and decrypting the file again; failed loads are not cached.
+ */
+@Slf4j
+class SSLContextCache {
+    private final Map<RestClientProperties.SSLProperties, CompletableFuture<SSLContext>> contexts = new ConcurrentHashMap<>();
+    private final Map<StoreKey, CompletableFuture<KeyStore>> stores = new ConcurrentHashMap<>();
+
+    SSLContext getSSLContext(RestClientProperties.SSLProperties ssl) throws Exception {
+        return load(contexts, ssl, () -> createSSLContext(ssl));
+    }
+
+    private SSLContext createSSLContext(RestClientProperties.SSLProperties ssl) throws Exception {
+        SSLContextBuilder builder = SSLContextBuilder.create();
+
+        if (ssl.getTrustStorePath() != null) {
+            KeyStore trustStore = getKeyStore(new StoreKey(ssl.getTrustStorePath(), ssl.getTrustStoreType(),
+                ssl.getTrustStorePassword()));
+            builder.loadTrustMaterial(trustStore, null);
+        }
+
+        if (ssl.getKeyStorePath() != null) {
+            KeyStore keyStore = getKeyStore(new StoreKey(ssl.getKeyStorePath(), ssl.getKeyStoreType(),
+                ssl.getKeyStorePassword()));
+            builder.loadKeyMaterial(keyStore, ssl.getKeyPassword().toCharArray());
+        }
+
+        return builder.build();
+    }
+
+    private KeyStore getKeyStore(StoreKey key) throws Exception {
+        return load(stores, key, () -> {
+            log.debug("Loading {} store {}", key.type(), key.path());
+            KeyStore store = KeyStore.getInstance(key.type());
+            try (InputStream in = Files.newInputStream(Path.of(key.path()))) {
+                store.load(in, key.password().toCharArray());
+            }
+            return store;
+        });
+    }
+
+    private static <K, V> V load(Map<K, CompletableFuture<V>> cache, K key, Loader<V> loader) throws Exception {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.putIfAbsent(key, created);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            V value = loader.load();
+            created.complete(value);
+            return value;
+        } catch (Exception e) {
+            cache.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private interface Loader<V> {
+        V load() throws Exception;
+    }
+
+    private record StoreKey(String path, String type, String password) {
+
+        @Override
+        public String toString() {
+            return type + ":" + path;
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package com.processapi.rest.exception;
 
+import com.processapi.rest.util.CapturingInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.ResponseErrorHandler;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Turns error responses into {@link RestClientException}s carrying at most {@code maxBodySize}
+ * bytes of the response body, so a large error page is never read into memory whole.
+ */
 @Slf4j
 public class RestClientErrorHandler implements ResponseErrorHandler {
+    public static final int DEFAULT_MAX_BODY_SIZE = 8192;
+
+    private final String clientName;
+    private final int maxBodySize;
+
+    public RestClientErrorHandler() {
+        this(null, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    public RestClientErrorHandler(String clientName, int maxBodySize) {
+        this.clientName = clientName;
+        this.maxBodySize = maxBodySize;
+    }
 
     @Override
     public boolean hasError(ClientHttpResponse response) throws IOException {
@@ -17,9 +39,15 @@ public class RestClientErrorHandler implements ResponseErrorHandler {
 
     @Override
     public void handleError(ClientHttpResponse response) throws IOException {
-        HttpStatus statusCode = response.getStatusCode();
-        String responseBody = new String(response.getBody().readAllBytes());
+        HttpStatusCode statusCode = response.getStatusCode();
+        String responseBody = CapturingInputStream.readCapped(response.getBody(), maxBodySize, charsetOf(response));
         log.error("HTTP error occurred: {} - {}", statusCode, responseBody);
-        throw new RestClientException("HTTP error occurred", statusCode, responseBody);
+        throw new RestClientException(clientName, HttpStatus.resolve(statusCode.value()), responseBody,
+            "HTTP error occurred: " + statusCode.value());
+    }
+
+    private static Charset charsetOf(ClientHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
     }
-} 
\ No newline at end of file
+}
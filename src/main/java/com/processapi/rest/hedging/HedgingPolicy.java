@@ -0,0 +1,57 @@
+package com.processapi.rest.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a client may hedge an idempotent request. Hedges are sent once a request has been
+ * outstanding for longer than the operation's observed latency at {@code percentile}, and are
+ * paid for from a budget that every request tops up by {@code budgetPercent} of a hedge. During
+ * an incident, when most requests are slow, the budget drains and hedging stops instead of
+ * multiplying load on the struggling downstream.
+ */
+public class HedgingPolicy {
+    private static final long TOKEN = 1000;
+
+    private final double percentile;
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong(0);
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder deniedCount = new LongAdder();
+
+    public HedgingPolicy(double percentile, double budgetPercent, int maxBurst) {
+        this.percentile = percentile;
+        this.depositPerRequest = (long) (TOKEN * budgetPercent / 100.0);
+        this.maxBalance = TOKEN * Math.max(1, maxBurst);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                deniedCount.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        hedgeCount.increment();
+        return true;
+    }
+
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    public long getDeniedCount() {
+        return deniedCount.sum();
+    }
+}
@@ -0,0 +1,185 @@
+package com.processapi.rest.http2;
+
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.body.PooledBody;
+import com.processapi.rest.timeout.TimeoutManager;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link org.springframework.web.client.RestClient} requests on an HTTP/2 async client, so
+ * the blocking API shares the client's multiplexed connections with the async one. Each request
+ * blocks its caller until the response has arrived. Request bodies are written into pooled
+ * buffers and sent from them; response bodies are buffered, including for {@code getStream}.
+ */
+public class Http2ClientHttpRequestFactory implements ClientHttpRequestFactory {
+    // Connection-specific headers are not allowed in HTTP/2 (RFC 9113, section 8.2.2)
+    private static final Set<String> EXCLUDED_HEADERS = caseInsensitive(List.of(
+        HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.HOST, HttpHeaders.TRANSFER_ENCODING,
+        HttpHeaders.UPGRADE, "Keep-Alive", "Proxy-Connection"));
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final TimeoutManager timeoutManager;
+    private final BufferPool bufferPool;
+
+    public Http2ClientHttpRequestFactory(CloseableHttpAsyncClient httpClient, TimeoutManager timeoutManager,
+                                         BufferPool bufferPool) {
+        this.httpClient = httpClient;
+        this.timeoutManager = timeoutManager;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new Http2ClientHttpRequest(uri, httpMethod);
+    }
+
+    private static void release(PooledBody body) {
+        if (body != null) {
+            body.release();
+        }
+    }
+
+    private static Set<String> caseInsensitive(List<String> names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(names);
+        return set;
+    }
+
+    private final class Http2ClientHttpRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private PooledBody body;
+
+        Http2ClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            if (body == null) {
+                body = PooledBody.allocate(bufferPool);
+            }
+            return body.outputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            SimpleHttpRequest request = SimpleHttpRequest.create(method.name(), uri);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (!EXCLUDED_HEADERS.contains(header.getKey())) {
+                    header.getValue().forEach(value -> request.addHeader(header.getKey(), value));
+                }
+            }
+            request.setConfig(timeoutManager.getRequestConfig(TimeoutManager.operationKey(method.name(), uri)));
+            BasicRequestProducer producer = new BasicRequestProducer(request, body != null && body.size() > 0
+                ? body.entityProducer(headers.getContentType() != null
+                    ? ContentType.parse(headers.getContentType().toString()) : null, null)
+                : null);
+
+            // The body goes back to the pool once the client is done with the exchange, not when
+            // this thread stops waiting for it
+            PooledBody sent = body;
+            Future<SimpleHttpResponse> exchange = httpClient.execute(producer, SimpleResponseConsumer.create(),
+                new FutureCallback<SimpleHttpResponse>() {
+                    @Override
+                    public void completed(SimpleHttpResponse response) {
+                        release(sent);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        release(sent);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        release(sent);
+                    }
+                });
+            try {
+                return new Http2ClientHttpResponse(exchange.get());
+            } catch (InterruptedException e) {
+                exchange.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for HTTP/2 response");
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+        }
+    }
+
+    private static final class Http2ClientHttpResponse implements ClientHttpResponse {
+        private final SimpleHttpResponse response;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        Http2ClientHttpResponse(SimpleHttpResponse response) {
+            this.response = response;
+            for (Header header : response.getHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.getCode());
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.getReasonPhrase() != null ? response.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            byte[] bytes = response.getBodyBytes();
+            return new ByteArrayInputStream(bytes != null ? bytes : new byte[0]);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.cache.CacheDirectives;
+import com.processapi.rest.cache.CachedResponse;
+import com.processapi.rest.cache.ResponseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Serves GETs from the client's {@link ResponseCache} following HTTP caching rules: fresh entries
+ * are returned without a call, stale ones are revalidated with If-None-Match/If-Modified-Since
+ * and refreshed on 304, and entries within {@code stale-while-revalidate} are returned at once
+ * while a single background call revalidates them. Background revalidation is skipped while
+ * {@code revalidationPermitted} says no, e.g. while the client's circuit breaker is not closed;
+ * the stale entry is still served. Successful unsafe requests invalidate the entry for their URI.
+ * Requests that carry their own conditional headers bypass the cache.
+ */
+@Slf4j
+public class CachingInterceptor implements ClientHttpRequestInterceptor {
+    private static final Set<HttpMethod> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE);
+
+    private final ResponseCache cache;
+    private final BooleanSupplier revalidationPermitted;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public CachingInterceptor(ResponseCache cache, BooleanSupplier revalidationPermitted) {
+        this.cache = cache;
+        this.revalidationPermitted = revalidationPermitted;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String key = request.getURI().toString();
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!SAFE_METHODS.contains(request.getMethod()) && !response.getStatusCode().isError()) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+
+        HttpHeaders requestHeaders = request.getHeaders();
+        CacheDirectives directives = CacheDirectives.parse(requestHeaders.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.noStore() || requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH)
+            || requestHeaders.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            return execution.execute(request, body);
+        }
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null && !cached.matches(requestHeaders)) {
+            cached = null;
+        }
+        long now = System.currentTimeMillis();
+        if (cached != null && !directives.noCache() && directives.maxAge() != 0) {
+            if (cached.isFresh(now)) {
+                cache.onHit();
+                return cached.toResponse(now);
+            }
+            if (cached.isStaleWhileRevalidate(now)) {
+                cache.onStaleHit();
+                revalidateInBackground(key, request, body, execution, cached);
+                return cached.toResponse(now);
+            }
+        }
+        return fetch(key, request, body, execution, cached, false);
+    }
+
+    private ClientHttpResponse fetch(String key, HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                                     CachedResponse cached, boolean background) throws IOException {
+        boolean conditional = cached != null && cached.hasValidators();
+        ClientHttpResponse response = execution.execute(conditional ? conditionalCopy(request, cached) : request, body);
+        long responseTime = System.currentTimeMillis();
+        HttpStatusCode status = response.getStatusCode();
+        if (conditional && status.value() == 304) {
+            CachedResponse refreshed = cached.revalidated(response.getHeaders(), responseTime);
+            response.close();
+            cache.put(key, refreshed);
+            cache.onRevalidated();
+            return refreshed.toResponse(responseTime);
+        }
+
+        if (!background) {
+            cache.onMiss();
+        }
+        if (!CachedResponse.isCacheable(status.value(), request.getHeaders(), response.getHeaders())
+            || response.getHeaders().getContentLength() > cache.getMaxEntrySize()) {
+            return response;
+        }
+
+        InputStream in = response.getBody();
+        byte[] bytes = in.readNBytes(cache.getMaxEntrySize() + 1);
+        if (bytes.length > cache.getMaxEntrySize()) {
+            return new PrefixedClientHttpResponse(response, new SequenceInputStream(new ByteArrayInputStream(bytes), in));
+        }
+        CachedResponse entry = CachedResponse.create(request.getHeaders(), status.value(), response.getStatusText(),
+            response.getHeaders(), cache.storeBody(bytes), responseTime);
+        response.close();
+        cache.put(key, entry);
+        return entry.toResponse(responseTime);
+    }
+
+    private void revalidateInBackground(String key, HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution, CachedResponse cached) {
+        if (!revalidationPermitted.getAsBoolean() || !revalidating.add(key)) {
+            return;
+        }
+        // Spring makes the caller's headers read-only once its exchange has been executed
+        HttpRequest snapshot = copyOf(request);
+        Thread.startVirtualThread(() -> {
+            try (ClientHttpResponse ignored = fetch(key, snapshot, body, execution, cached, true)) {
+                log.debug("Revalidated cached response for {}", key);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Background revalidation failed for {}: {}", key, e.getMessage());
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Returns a copy of the request carrying the entry's validators, leaving the caller's headers alone.
+     */
+    private static HttpRequest conditionalCopy(HttpRequest request, CachedResponse cached) {
+        HttpRequest copy = copyOf(request);
+        cached.addConditionalHeaders(copy.getHeaders());
+        return copy;
+    }
+
+    private static HttpRequest copyOf(HttpRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        return new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.processapi.rest.interceptor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight stage for GETs: while a request for a key is outstanding, identical requests
+ * wait for it instead of making their own call and each receive a copy of its response. The key
+ * is the URI plus the values of {@code varyHeaders}, so callers with different credentials or
+ * content negotiation never share a response. Responses larger than {@code maxResponseSize} are
+ * streamed to the first caller and the waiting callers make their own requests.
+ */
+public class CoalescingInterceptor implements ClientHttpRequestInterceptor {
+    private final List<String> varyHeaders;
+    private final int maxResponseSize;
+    private final Map<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public CoalescingInterceptor(List<String> varyHeaders, int maxResponseSize) {
+        this.varyHeaders = List.copyOf(varyHeaders);
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = keyOf(request);
+        CompletableFuture<SharedResponse> call = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalescedCount.increment();
+            SharedResponse shared = await(leader);
+            return shared != null ? shared.copy() : execution.execute(request, body);
+        }
+
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getHeaders().getContentLength() > maxResponseSize) {
+                call.complete(null);
+                return response;
+            }
+
+            InputStream in = response.getBody();
+            byte[] bytes = in.readNBytes(maxResponseSize + 1);
+            if (bytes.length > maxResponseSize) {
+                call.complete(null);
+                return new PrefixedClientHttpResponse(response, new SequenceInputStream(new ByteArrayInputStream(bytes), in));
+            }
+
+            SharedResponse shared = new SharedResponse(response.getStatusCode(), response.getStatusText(),
+                HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), bytes);
+            response.close();
+            call.complete(shared);
+            return shared.copy();
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private String keyOf(HttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI().toString());
+        HttpHeaders headers = request.getHeaders();
+        for (String name : varyHeaders) {
+            key.append('\n').append(name).append(':').append(headers.getOrEmpty(name));
+        }
+        return key.toString();
+    }
+
+    private static SharedResponse await(CompletableFuture<SharedResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for coalesced request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw new IOException(io.getMessage(), io);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private record SharedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+
+        ClientHttpResponse copy() {
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(headers);
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return statusCode;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return statusText;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return copy;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.compression.Compression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Negotiates content coding for the blocking path: advertises Accept-Encoding, encodes request
+ * bodies through the client's {@link Compression} and decodes gzip and deflate responses as the
+ * caller reads them. Headers are changed on a copy of the request so outer stages, such as the
+ * cache matching on Vary, see the request as the caller built it. Requests that already carry
+ * Accept-Encoding or Content-Encoding are left as they are in that respect.
+ */
+public class CompressionInterceptor implements ClientHttpRequestInterceptor {
+    private final Compression compression;
+
+    public CompressionInterceptor(Compression compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        boolean negotiated = !headers.containsKey(HttpHeaders.ACCEPT_ENCODING);
+        if (negotiated) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, compression.getAcceptEncoding());
+        }
+        if (!headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            byte[] encoded = compression.encode(body);
+            if (encoded != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, compression.getRequestEncoding().token());
+                headers.setContentLength(encoded.length);
+                body = encoded;
+            }
+        }
+
+        ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        }, body);
+        // A caller that asked for an encoding itself gets the response as sent
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (!negotiated || !compression.canDecode(contentEncoding)) {
+            return response;
+        }
+        return new DecodedResponse(response, compression, contentEncoding);
+    }
+
+    private static final class DecodedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Compression compression;
+        private final String contentEncoding;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        DecodedResponse(ClientHttpResponse delegate, Compression compression, String contentEncoding) {
+            this.delegate = delegate;
+            this.compression = compression;
+            this.contentEncoding = contentEncoding;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = compression.decode(contentEncoding, delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // the delegate is closed below regardless
+                }
+            }
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.processapi.rest.interceptor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A client's interceptor stages compiled into a flat array once, when the client is built. Every
+ * stage's {@link ClientHttpRequestExecution} is created up front and calls the next stage by
+ * index, and the last one calls the transport. A request therefore allocates nothing for the
+ * chain beyond its buffered body. Spring's interceptor chain creates a new execution and iterator
+ * for every request. Stages a client does not enable are simply not in the array.
+ */
+public final class InterceptorPipeline implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory requestFactory;
+    private final ClientHttpRequestInterceptor[] stages;
+    private final ClientHttpRequestExecution[] executions;
+
+    public InterceptorPipeline(ClientHttpRequestFactory requestFactory, List<ClientHttpRequestInterceptor> stages) {
+        this.requestFactory = requestFactory;
+        this.stages = stages.toArray(new ClientHttpRequestInterceptor[0]);
+        this.executions = new ClientHttpRequestExecution[this.stages.length + 1];
+        for (int i = 0; i < this.stages.length; i++) {
+            executions[i] = new StageExecution(i);
+        }
+        executions[this.stages.length] = new TransportExecution();
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return stages.length == 0 ? requestFactory.createRequest(uri, httpMethod) : new PipelineRequest(uri, httpMethod);
+    }
+
+    public List<ClientHttpRequestInterceptor> getStages() {
+        return List.of(stages);
+    }
+
+    private final class StageExecution implements ClientHttpRequestExecution {
+        private final int index;
+
+        StageExecution(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            return stages[index].intercept(request, body, executions[index + 1]);
+        }
+    }
+
+    /**
+     * Sends the request, as possibly modified by the stages, through the underlying factory.
+     */
+    private final class TransportExecution implements ClientHttpRequestExecution {
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            ClientHttpRequest delegate = requestFactory.createRequest(request.getURI(), request.getMethod());
+            for (Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+                delegate.getHeaders().addAll(header.getKey(), header.getValue());
+            }
+            if (body.length > 0) {
+                if (delegate instanceof StreamingHttpOutputMessage streaming) {
+                    streaming.setBody(new StreamingHttpOutputMessage.Body() {
+                        @Override
+                        public void writeTo(OutputStream outputStream) throws IOException {
+                            StreamUtils.copy(body, outputStream);
+                        }
+
+                        @Override
+                        public boolean repeatable() {
+                            return true;
+                        }
+                    });
+                } else {
+                    StreamUtils.copy(body, delegate.getBody());
+                }
+            }
+            return delegate.execute();
+        }
+    }
+
+    private final class PipelineRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private FastByteArrayOutputStream body;
+
+        PipelineRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            if (body == null) {
+                body = new FastByteArrayOutputStream(1024);
+            }
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            byte[] bytes = body != null ? body.toByteArrayUnsafe() : new byte[0];
+            if (headers.getContentLength() < 0) {
+                headers.setContentLength(bytes.length);
+            }
+            return executions[0].execute(this, bytes);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.loadbalancer.Endpoint;
+import com.processapi.rest.loadbalancer.LoadBalancer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Sends each attempt to an endpoint chosen by the client's {@link LoadBalancer}: the relative
+ * request URI is resolved against the endpoint's URL and the exchange is recorded against that
+ * endpoint, with server errors counting as failures. Absolute URIs are sent as they are.
+ */
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private final LoadBalancer loadBalancer;
+
+    public LoadBalancingInterceptor(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        URI uri = request.getURI();
+        if (uri.isAbsolute()) {
+            return execution.execute(request, body);
+        }
+
+        Endpoint endpoint = loadBalancer.choose();
+        URI target = URI.create(endpoint.getUrl() + uri);
+        HttpRequest routed = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return target;
+            }
+        };
+        return endpoint.execute(() -> execution.execute(routed, body), LoadBalancingInterceptor::isServerError);
+    }
+
+    private static boolean isServerError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
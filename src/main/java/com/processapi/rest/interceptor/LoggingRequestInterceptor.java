@@ -10,8 +10,12 @@ import java.io.IOException;
 
 /**
  * Default implementation of RequestInterceptor that logs request details.
+ *
+ * @deprecated logs every request synchronously with all headers and the full body; use
+ * {@link SampledLoggingInterceptor}
  */
 @Slf4j
+@Deprecated
 public class LoggingRequestInterceptor implements ClientHttpRequestInterceptor {
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
@@ -1,24 +1,88 @@
 package com.processapi.rest.interceptor;
 
+import com.processapi.rest.exception.RestClientErrorHandler;
+import com.processapi.rest.util.CapturingInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * Default implementation of ResponseInterceptor that logs response details.
+ * Default implementation of ResponseInterceptor that logs response details. The body is not
+ * read here: the caller's reads are teed and up to {@code maxBodySize} bytes of what it consumed
+ * are logged when the response is closed.
+ *
+ * @deprecated logs every response synchronously with all headers; use {@link SampledLoggingInterceptor}
  */
 @Slf4j
+@Deprecated
 public class LoggingResponseInterceptor implements ClientHttpRequestInterceptor {
+    private final int maxBodySize;
+
+    public LoggingResponseInterceptor() {
+        this(RestClientErrorHandler.DEFAULT_MAX_BODY_SIZE);
+    }
+
+    public LoggingResponseInterceptor(int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
         ClientHttpResponse response = execution.execute(request, body);
+        if (!log.isInfoEnabled()) {
+            return response;
+        }
         log.info("Response: {} {}", response.getStatusCode(), response.getStatusText());
         log.info("Response Headers: {}", response.getHeaders());
-        log.info("Response Body: {}", new String(response.getBody().readAllBytes()));
-        return response;
+        return new LoggedResponse(response, maxBodySize);
+    }
+
+    private static final class LoggedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final int maxBodySize;
+        private CapturingInputStream body;
+
+        LoggedResponse(ClientHttpResponse delegate, int maxBodySize) {
+            this.delegate = delegate;
+            this.maxBodySize = maxBodySize;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CapturingInputStream(delegate.getBody(), maxBodySize);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                log.info("Response Body: {}", body.getCapturedText());
+            }
+            delegate.close();
+        }
     }
-} 
\ No newline at end of file
+}
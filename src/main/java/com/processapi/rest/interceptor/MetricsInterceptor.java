@@ -0,0 +1,37 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.metrics.ClientMetrics;
+import com.processapi.rest.timeout.TimeoutManager;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Outermost stage: times each call, including cache hits, coalesced waits and retries, until the
+ * response headers are available.
+ */
+public class MetricsInterceptor implements ClientHttpRequestInterceptor {
+    private final ClientMetrics metrics;
+
+    public MetricsInterceptor(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String operation = TimeoutManager.operationKey(request.getMethod().name(), request.getURI());
+        long start = System.nanoTime();
+        int status = -1;
+        metrics.onStart();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+            return response;
+        } finally {
+            metrics.onComplete(operation, status, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.processapi.rest.interceptor;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A response whose first bytes were already read by an interceptor, for example while deciding
+ * whether it is small enough to buffer; {@code body} replays them ahead of the rest.
+ */
+class PrefixedClientHttpResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+    private final InputStream body;
+
+    PrefixedClientHttpResponse(ClientHttpResponse delegate, InputStream body) {
+        this.delegate = delegate;
+        this.body = body;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -2,10 +2,12 @@ package com.processapi.rest.interceptor;
 
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 
 import java.io.IOException;
 
-public interface RequestInterceptor {
+public interface RequestInterceptor extends ClientHttpRequestInterceptor {
+    @Override
     ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException;
-} 
\ No newline at end of file
+}
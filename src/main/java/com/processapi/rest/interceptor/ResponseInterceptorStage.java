@@ -0,0 +1,24 @@
+package com.processapi.rest.interceptor;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Runs a {@link ResponseInterceptor} on the response returned by the rest of the pipeline.
+ */
+public class ResponseInterceptorStage implements ClientHttpRequestInterceptor {
+    private final ResponseInterceptor interceptor;
+
+    public ResponseInterceptorStage(ResponseInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        return interceptor.intercept(execution.execute(request, body));
+    }
+}
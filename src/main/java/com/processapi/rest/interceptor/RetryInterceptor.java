@@ -1,6 +1,8 @@
 package com.processapi.rest.interceptor;
 
 import com.processapi.rest.config.RetryConfig;
+import com.processapi.rest.retry.Backoff;
+import com.processapi.rest.retry.RetryBudget;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -8,48 +10,61 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Retries blocking calls that fail with an {@link IOException}, using jittered backoff and
+ * drawing every retry from the client's {@link RetryBudget}. The interceptor API is synchronous,
+ * so the calling thread waits out the delay; the async client path schedules its retries on a
+ * timer instead.
+ */
 @Slf4j
 public class RetryInterceptor implements ClientHttpRequestInterceptor {
     private final RetryConfig retryConfig;
+    private final RetryBudget retryBudget;
+    private final Backoff backoff;
 
     public RetryInterceptor(RetryConfig retryConfig) {
+        this(retryConfig, new RetryBudget(retryConfig.getBudgetRatio(), retryConfig.getBudgetMaxRetries()));
+    }
+
+    public RetryInterceptor(RetryConfig retryConfig, RetryBudget retryBudget) {
         this.retryConfig = retryConfig;
+        this.retryBudget = retryBudget;
+        this.backoff = new Backoff(retryConfig);
     }
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
         int attempts = 0;
-        IOException lastException = null;
+        long delay = 0;
 
-        while (attempts < retryConfig.getMaxAttempts()) {
+        while (true) {
             try {
-                return execution.execute(request, body);
+                ClientHttpResponse response = execution.execute(request, body);
+                retryBudget.onSuccess();
+                return response;
             } catch (IOException e) {
-                lastException = e;
                 attempts++;
                 log.warn("Request failed (attempt {}/{}): {}", attempts, retryConfig.getMaxAttempts(), e.getMessage());
 
-                if (attempts < retryConfig.getMaxAttempts()) {
-                    try {
-                        long delay = calculateDelay(attempts);
-                        log.info("Waiting {} ms before retry", delay);
-                        TimeUnit.MILLISECONDS.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("Retry interrupted", ie);
-                    }
+                if (attempts >= retryConfig.getMaxAttempts()) {
+                    throw e;
+                }
+                if (!retryBudget.tryAcquireRetry()) {
+                    log.warn("Retry budget exhausted, not retrying {} {}", request.getMethod(), request.getURI());
+                    throw e;
+                }
+
+                delay = backoff.nextDelay(attempts, delay);
+                log.info("Waiting {} ms before retry", delay);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Retry interrupted", ie);
                 }
             }
         }
-
-        throw lastException;
-    }
-
-    private long calculateDelay(int attempt) {
-        long delay = (long) (retryConfig.getInitialInterval() * Math.pow(retryConfig.getMultiplier(), attempt - 1));
-        return Math.min(delay, retryConfig.getMaxInterval());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.logging.AsyncLogWriter;
+import com.processapi.rest.logging.HttpLogRecord;
+import com.processapi.rest.logging.LoggingConfig;
+import com.processapi.rest.util.CapturingInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a sample of exchanges through an {@link AsyncLogWriter}. Only headers on the allowlist
+ * are logged, redacted headers are masked, and bodies are cut to {@code maxBodySize} bytes; the
+ * response body is teed as the caller reads it rather than read here. Nothing is captured when
+ * the exchange is not sampled or INFO logging is off.
+ */
+public class SampledLoggingInterceptor implements ClientHttpRequestInterceptor {
+    private static final List<String> REDACTED = List.of("[REDACTED]");
+
+    private final String clientName;
+    private final AsyncLogWriter writer;
+    private final double sampleRate;
+    private final int maxBodySize;
+    private final Set<String> headerAllowlist;
+    private final Set<String> redactedHeaders;
+
+    public SampledLoggingInterceptor(String clientName, LoggingConfig config, AsyncLogWriter writer) {
+        this.clientName = clientName;
+        this.writer = writer;
+        this.sampleRate = config.getSampleRate();
+        this.maxBodySize = config.getMaxBodySize();
+        this.headerAllowlist = caseInsensitive(config.getHeaderAllowlist());
+        this.redactedHeaders = caseInsensitive(config.getRedactedHeaders());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!writer.isEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return execution.execute(request, body);
+        }
+
+        Exchange exchange = new Exchange(request, body);
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            exchange.failed(e);
+            throw e;
+        }
+        return new LoggedResponse(response, exchange, maxBodySize);
+    }
+
+    private HttpHeaders filter(HttpHeaders headers) {
+        HttpHeaders filtered = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (redactedHeaders.contains(name)) {
+                filtered.put(name, REDACTED);
+            } else if (headerAllowlist.isEmpty() || headerAllowlist.contains(name)) {
+                filtered.put(name, header.getValue());
+            }
+        }
+        return filtered;
+    }
+
+    private static Set<String> caseInsensitive(List<String> names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (names != null) {
+            set.addAll(names);
+        }
+        return set;
+    }
+
+    /**
+     * What is known about an exchange before its response body has been read.
+     */
+    private final class Exchange {
+        private final HttpRequest request;
+        private final HttpHeaders requestHeaders;
+        private final byte[] requestBody;
+        private final boolean requestTruncated;
+        private final long start = System.nanoTime();
+
+        Exchange(HttpRequest request, byte[] body) {
+            this.request = request;
+            this.requestHeaders = filter(request.getHeaders());
+            this.requestBody = body != null ? Arrays.copyOf(body, Math.min(body.length, maxBodySize)) : null;
+            this.requestTruncated = body != null && body.length > maxBodySize;
+        }
+
+        void failed(Exception error) {
+            writer.submit(new HttpLogRecord(clientName, request.getMethod().name(), request.getURI(), requestHeaders,
+                requestBody, requestTruncated, -1, null, null, false,
+                System.nanoTime() - start, error.toString()));
+        }
+
+        void completed(int status, HttpHeaders responseHeaders, CapturingInputStream responseBody) {
+            writer.submit(new HttpLogRecord(clientName, request.getMethod().name(), request.getURI(), requestHeaders,
+                requestBody, requestTruncated, status, filter(responseHeaders),
+                responseBody != null ? responseBody.getCaptured() : null,
+                responseBody != null && responseBody.isTruncated(),
+                System.nanoTime() - start, null));
+        }
+    }
+
+    private static final class LoggedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Exchange exchange;
+        private final int maxBodySize;
+        private CapturingInputStream body;
+        private boolean closed;
+
+        LoggedResponse(ClientHttpResponse delegate, Exchange exchange, int maxBodySize) {
+            this.delegate = delegate;
+            this.exchange = exchange;
+            this.maxBodySize = maxBodySize;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CapturingInputStream(delegate.getBody(), maxBodySize);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                int status;
+                try {
+                    status = delegate.getStatusCode().value();
+                } catch (IOException e) {
+                    status = -1;
+                }
+                exchange.completed(status, delegate.getHeaders(), body);
+            }
+            delegate.close();
+        }
+    }
+}
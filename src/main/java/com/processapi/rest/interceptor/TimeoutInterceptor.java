@@ -0,0 +1,38 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.timeout.TimeoutManager;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * Feeds the latency and timeout outcome of each blocking call back into the client's
+ * {@link TimeoutManager}. The timeout itself is applied by the request factory's HTTP context.
+ */
+public class TimeoutInterceptor implements ClientHttpRequestInterceptor {
+    private final TimeoutManager timeoutManager;
+
+    public TimeoutInterceptor(TimeoutManager timeoutManager) {
+        this.timeoutManager = timeoutManager;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String operation = TimeoutManager.operationKey(request.getMethod().name(), request.getURI());
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return execution.execute(request, body);
+        } catch (InterruptedIOException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            timeoutManager.recordOperation(operation, Duration.ofNanos(System.nanoTime() - start), timedOut);
+        }
+    }
+}
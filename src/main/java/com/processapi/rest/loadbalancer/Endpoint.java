@@ -0,0 +1,171 @@
+package com.processapi.rest.loadbalancer;
+
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * One base URL behind a {@link LoadBalancer}, with its own circuit breaker and the load figures
+ * used to choose between endpoints: requests in flight and a peak-EWMA of response latency.
+ * Responses the caller marks as failures, such as server errors, and I/O failures count against
+ * the breaker and leave the latency alone, so an endpoint that fails fast does not attract traffic.
+ */
+public final class Endpoint {
+    private final String url;
+    private final CircuitBreaker circuitBreaker;
+    private final long decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile double latencyNanos;
+    private long lastSample = System.nanoTime();
+
+    Endpoint(String url, CircuitBreaker circuitBreaker, long decayNanos, double initialLatencyNanos) {
+        this.url = url;
+        this.circuitBreaker = circuitBreaker;
+        this.decayNanos = decayNanos;
+        this.latencyNanos = initialLatencyNanos;
+    }
+
+    /**
+     * Runs a blocking exchange against this endpoint. A response matching {@code isFailure} is
+     * returned to the caller but recorded as a failure.
+     */
+    public <T> T execute(Exchange<T> exchange, Predicate<T> isFailure) throws IOException {
+        long start = System.nanoTime();
+        outstanding.incrementAndGet();
+        try {
+            return circuitBreaker.execute(() -> {
+                T response;
+                try {
+                    response = exchange.execute();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (isFailure.test(response)) {
+                    throw new FailedResponse(response);
+                }
+                recordLatency(System.nanoTime() - start);
+                return response;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (FailedResponse e) {
+            return e.response();
+        } finally {
+            outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a non-blocking exchange against this endpoint. Cancelling the returned future cancels
+     * the exchange, and is not held against the endpoint.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> exchange, Predicate<T> isFailure) {
+        long start = System.nanoTime();
+        outstanding.incrementAndGet();
+        AtomicReference<CompletableFuture<T>> sent = new AtomicReference<>();
+        CompletableFuture<T> result = circuitBreaker.<T>executeAsync(() -> {
+                CompletableFuture<T> future = exchange.get();
+                sent.set(future);
+                return future.thenApply(response -> {
+                    if (isFailure.test(response)) {
+                        throw new FailedResponse(response);
+                    }
+                    recordLatency(System.nanoTime() - start);
+                    return response;
+                });
+            })
+            .exceptionallyCompose(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                return cause instanceof FailedResponse failed
+                    ? CompletableFuture.completedFuture(failed.<T>response())
+                    : CompletableFuture.failedFuture(cause);
+            });
+        result.whenComplete((response, error) -> {
+            outstanding.decrementAndGet();
+            CompletableFuture<T> future = sent.get();
+            if (error instanceof CancellationException && future != null) {
+                future.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns whether the endpoint can take requests: its breaker is closed, half-open, or open
+     * but due for a trial call.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public double getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    double cost(LoadBalancer.Strategy strategy) {
+        int inFlight = outstanding.get();
+        return strategy == LoadBalancer.Strategy.EWMA ? latencyNanos * (inFlight + 1) : inFlight;
+    }
+
+    /**
+     * Peak-EWMA: a sample above the average replaces it at once, so a slowing endpoint is avoided
+     * immediately, and the average decays towards faster samples with time constant {@code decayNanos}.
+     */
+    private synchronized void recordLatency(long sampleNanos) {
+        long now = System.nanoTime();
+        if (sampleNanos > latencyNanos) {
+            latencyNanos = sampleNanos;
+        } else {
+            double weight = Math.exp(-(now - lastSample) / (double) decayNanos);
+            latencyNanos = latencyNanos * weight + sampleNanos * (1 - weight);
+        }
+        lastSample = now;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+
+    @FunctionalInterface
+    public interface Exchange<T> {
+        T execute() throws IOException;
+    }
+
+    /**
+     * Carries a response recorded as a failure past the breaker back to the caller.
+     */
+    private static final class FailedResponse extends RuntimeException {
+        private final transient Object response;
+
+        FailedResponse(Object response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T response() {
+            return (T) response;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.processapi.rest.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Runs a listener whenever anything changes in the directory of a watched file. Watching the
+ * directory rather than the file also catches files replaced by a rename, as editors and
+ * Kubernetes ConfigMap volumes do; listeners compare the content themselves.
+ */
+@Slf4j
+class EndpointFileWatcher implements Closeable {
+    private final WatchService watchService;
+    private final Map<Path, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    EndpointFileWatcher() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Thread.ofPlatform().name("endpoint-file-watcher").daemon().start(this::run);
+    }
+
+    void watch(Path file, Runnable listener) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        listeners.computeIfAbsent(directory, d -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            key.pollEvents();
+            for (Runnable listener : listeners.getOrDefault((Path) key.watchable(), List.of())) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.warn("Endpoint file listener failed: {}", e.getMessage());
+                }
+            }
+            key.reset();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,140 @@
+package com.processapi.rest.loadbalancer;
+
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.exception.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Spreads a client's requests over several endpoints with power-of-two-choices: each request
+ * picks two endpoints at random and goes to the less loaded of them, by requests in flight or by
+ * peak-EWMA latency weighted by requests in flight. Unlike always picking the least loaded
+ * endpoint, this does not send every caller to the same endpoint on the same stale figures.
+ * Endpoints whose circuit breaker is open are ejected until it would let a trial call through.
+ */
+@Slf4j
+public class LoadBalancer {
+    private final String name;
+    private final Strategy strategy;
+    private final long decayNanos;
+    private final Function<String, CircuitBreaker> circuitBreakers;
+    private volatile Endpoint[] endpoints = new Endpoint[0];
+
+    public enum Strategy {
+        /** The endpoint with fewer requests in flight. */
+        LEAST_OUTSTANDING,
+        /** The endpoint with the lower peak-EWMA latency multiplied by its requests in flight plus one. */
+        EWMA
+    }
+
+    /**
+     * @param decayTime       time constant over which the latency average forgets old samples
+     * @param circuitBreakers returns the breaker for an endpoint URL
+     */
+    public LoadBalancer(String name, Strategy strategy, Duration decayTime, Function<String, CircuitBreaker> circuitBreakers) {
+        this.name = name;
+        this.strategy = strategy;
+        this.decayNanos = Math.max(1, decayTime.toNanos());
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    public Endpoint choose() {
+        Endpoint[] current = endpoints;
+        int count = current.length;
+        if (count == 0) {
+            throw new RestClientException(name, "No endpoints configured for: " + name);
+        }
+        if (count == 1) {
+            return current[0];
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = current[first];
+        Endpoint b = current[second];
+        boolean aAvailable = a.isAvailable();
+        boolean bAvailable = b.isAvailable();
+        if (aAvailable && bAvailable) {
+            return a.cost(strategy) <= b.cost(strategy) ? a : b;
+        }
+        if (aAvailable || bAvailable) {
+            return aAvailable ? a : b;
+        }
+        // Both picks ejected: take any available endpoint, or let the breaker reject the call
+        for (int i = 1; i <= count; i++) {
+            Endpoint candidate = current[(first + i) % count];
+            if (candidate.isAvailable()) {
+                return candidate;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Replaces the endpoint list. Endpoints that stay keep their breaker and load figures; new
+     * ones start at the average latency of the others so they are neither flooded nor starved.
+     *
+     * @return the endpoints that were removed
+     */
+    public synchronized List<Endpoint> setEndpoints(List<String> urls) {
+        Map<String, Endpoint> previous = new LinkedHashMap<>();
+        double latencySum = 0;
+        for (Endpoint endpoint : endpoints) {
+            previous.put(endpoint.getUrl(), endpoint);
+            latencySum += endpoint.getLatencyNanos();
+        }
+        double initialLatency = previous.isEmpty() ? 0 : latencySum / previous.size();
+
+        List<Endpoint> updated = new ArrayList<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            Endpoint endpoint = previous.remove(url);
+            updated.add(endpoint != null ? endpoint
+                : new Endpoint(url, circuitBreakers.apply(url), decayNanos, initialLatency));
+        }
+        endpoints = updated.toArray(new Endpoint[0]);
+        log.info("Load balancer for {} has {} endpoints: {}", name, updated.size(), updated);
+        return List.copyOf(previous.values());
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return List.of(endpoints);
+    }
+
+    public List<String> getEndpointUrls() {
+        List<String> urls = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            urls.add(endpoint.getUrl());
+        }
+        return urls;
+    }
+
+    public int getAvailableCount() {
+        int available = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable()) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+}
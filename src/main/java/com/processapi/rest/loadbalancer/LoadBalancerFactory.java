@@ -0,0 +1,130 @@
+package com.processapi.rest.loadbalancer;
+
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.circuitbreaker.CircuitBreakerConfig;
+import com.processapi.rest.circuitbreaker.CircuitBreakerFactory;
+import com.processapi.rest.config.RestClientProperties;
+import com.processapi.rest.exception.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Creates a {@link LoadBalancer} per client, with a circuit breaker per endpoint named
+ * {@code "<client> <endpoint url>"}. Endpoints come from the configured list and, if an endpoints
+ * file is set, from that file, which is reloaded whenever it changes.
+ */
+@Slf4j
+@Component
+public class LoadBalancerFactory implements DisposableBean {
+    private final CircuitBreakerFactory circuitBreakerFactory;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+    private EndpointFileWatcher watcher;
+
+    public LoadBalancerFactory(CircuitBreakerFactory circuitBreakerFactory, CircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    /**
+     * @param healthCheck probes an endpoint URL while its breaker is open; may be {@code null}
+     */
+    public LoadBalancer getLoadBalancer(String name, RestClientProperties.LoadBalancingConfig config,
+                                        Predicate<String> healthCheck) {
+        return loadBalancers.computeIfAbsent(name, k -> createLoadBalancer(name, config, healthCheck));
+    }
+
+    private LoadBalancer createLoadBalancer(String name, RestClientProperties.LoadBalancingConfig config,
+                                            Predicate<String> healthCheck) {
+        log.info("Creating load balancer for: {} ({})", name, config.getStrategy());
+        LoadBalancer loadBalancer = new LoadBalancer(name, config.getStrategy(), Duration.ofMillis(config.getDecayTime()),
+            url -> circuitBreaker(name, url, healthCheck));
+        loadBalancer.setEndpoints(config.getEndpoints());
+
+        if (config.getEndpointsFile() != null) {
+            Path file = Path.of(config.getEndpointsFile());
+            reload(loadBalancer, file);
+            try {
+                watcher().watch(file, () -> reload(loadBalancer, file));
+            } catch (IOException e) {
+                throw new RestClientException(name, "Failed to watch endpoints file " + file, e);
+            }
+        }
+        if (loadBalancer.getEndpoints().isEmpty()) {
+            throw new RestClientException(name, "No endpoints configured for: " + name);
+        }
+        return loadBalancer;
+    }
+
+    private CircuitBreaker circuitBreaker(String name, String url, Predicate<String> healthCheck) {
+        String breakerName = name + " " + url;
+        return healthCheck != null
+            ? circuitBreakerFactory.getCircuitBreaker(breakerName, circuitBreakerConfig, () -> healthCheck.test(url))
+            : circuitBreakerFactory.getCircuitBreaker(breakerName, circuitBreakerConfig);
+    }
+
+    /**
+     * Applies the endpoints file if it lists any endpoints and differs from the current list. A
+     * missing, unreadable or empty file leaves the current endpoints in place, so a file caught
+     * half-written does not eject every endpoint.
+     */
+    private void reload(LoadBalancer loadBalancer, Path file) {
+        List<String> urls;
+        try {
+            urls = readEndpoints(file);
+        } catch (NoSuchFileException e) {
+            log.warn("Endpoints file {} for {} does not exist", file, loadBalancer.getName());
+            return;
+        } catch (IOException e) {
+            log.warn("Failed to read endpoints file {} for {}: {}", file, loadBalancer.getName(), e.getMessage());
+            return;
+        }
+        if (urls.isEmpty() || urls.equals(loadBalancer.getEndpointUrls())) {
+            return;
+        }
+        for (Endpoint removed : loadBalancer.setEndpoints(urls)) {
+            circuitBreakerFactory.removeCircuitBreaker(loadBalancer.getName() + " " + removed.getUrl());
+        }
+    }
+
+    /**
+     * Reads one endpoint URL per line, ignoring blank lines and lines starting with {@code #}.
+     */
+    static List<String> readEndpoints(Path file) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String url = line.strip();
+            if (!url.isEmpty() && !url.startsWith("#")) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+
+    private synchronized EndpointFileWatcher watcher() throws IOException {
+        if (watcher == null) {
+            watcher = new EndpointFileWatcher();
+        }
+        return watcher;
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.processapi.rest.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes {@link HttpLogRecord}s from a single background thread. Request threads only offer to a
+ * bounded queue; when it is full the record is dropped and counted, so logging can never block
+ * or slow down a call.
+ */
+@Slf4j
+public class AsyncLogWriter implements DisposableBean {
+    private final BlockingQueue<HttpLogRecord> queue;
+    private final LongAdder droppedCount = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public AsyncLogWriter(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.worker = Thread.ofPlatform().daemon().name("rest-client-log-writer").start(this::drain);
+    }
+
+    public boolean isEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    public void submit(HttpLogRecord record) {
+        if (!queue.offer(record)) {
+            droppedCount.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<HttpLogRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::write);
+    }
+
+    private void write(HttpLogRecord record) {
+        try {
+            log.info(record.format());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write HTTP log record: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        worker.interrupt();
+        long dropped = droppedCount.sum();
+        if (dropped > 0) {
+            log.info("Dropped {} HTTP log records because the log queue was full", dropped);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.processapi.rest.logging;
+
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One logged exchange. Everything is captured on the request thread in raw, already filtered
+ * and truncated form; the text is only built by {@link #format()} on the log writer thread.
+ *
+ * @param status response status, or -1 if the exchange failed
+ */
+public record HttpLogRecord(String clientName, String method, URI uri, HttpHeaders requestHeaders,
+                            byte[] requestBody, boolean requestBodyTruncated, int status,
+                            HttpHeaders responseHeaders, byte[] responseBody, boolean responseBodyTruncated,
+                            long durationNanos, String error) {
+
+    public String format() {
+        StringBuilder text = new StringBuilder(256)
+            .append('[').append(clientName).append("] ")
+            .append(method).append(' ').append(uri);
+        if (status >= 0) {
+            text.append(" -> ").append(status);
+        } else {
+            text.append(" -> failed: ").append(error);
+        }
+        text.append(" (").append(TimeUnit.NANOSECONDS.toMillis(durationNanos)).append(" ms)")
+            .append("\n  request headers: ").append(requestHeaders);
+        appendBody(text, "request", requestBody, requestBodyTruncated);
+        if (responseHeaders != null) {
+            text.append("\n  response headers: ").append(responseHeaders);
+        }
+        appendBody(text, "response", responseBody, responseBodyTruncated);
+        return text.toString();
+    }
+
+    private static void appendBody(StringBuilder text, String label, byte[] body, boolean truncated) {
+        if (body == null || body.length == 0) {
+            return;
+        }
+        text.append("\n  ").append(label).append(" body: ").append(new String(body, StandardCharsets.UTF_8));
+        if (truncated) {
+            text.append("...");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.processapi.rest.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client.logging")
+public class LoggingConfig {
+    private double sampleRate = 1.0; // Fraction of exchanges logged
+    private int maxBodySize = 1024; // Bytes of each body logged, 0 disables body logging
+    private List<String> headerAllowlist = new ArrayList<>(List.of(
+        "Content-Type", "Content-Length", "Content-Encoding", "Accept", "Location", "Retry-After", "X-Request-Id"));
+    private List<String> redactedHeaders = new ArrayList<>(List.of(
+        "Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"));
+    private int queueCapacity = 1024;
+}
@@ -0,0 +1,126 @@
+package com.processapi.rest.metrics;
+
+import com.processapi.rest.util.PathTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request meters for one client. Timers are registered once per operation and status class and
+ * then looked up by the operation key the caller already has, so recording a request does not
+ * allocate. Paths are reduced to templates by {@link PathTemplates}, and at most
+ * {@code maxUriTags} templates are tagged per client; operations sharing a template, or past the
+ * cap sharing {@code /**}, share one set of meters.
+ */
+public class ClientMetrics {
+    static final String REQUESTS = "rest.client.requests";
+    private static final String[] STATUS_CLASSES = {"NONE", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry registry;
+    private final String clientName;
+    private final boolean percentileHistogram;
+    private final int maxUriTags;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, OperationMeters> operations = new ConcurrentHashMap<>();
+    private final Map<String, OperationMeters> templateMeters = new ConcurrentHashMap<>();
+    private final Set<String> uriTemplates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param registry {@code null} to only track in-flight requests
+     */
+    ClientMetrics(MeterRegistry registry, String clientName, MetricsConfig config) {
+        this.registry = registry;
+        this.clientName = clientName;
+        this.percentileHistogram = config.isPercentileHistogram();
+        this.maxUriTags = config.getMaxUriTags();
+    }
+
+    public void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * @param operation operation key in {@code "METHOD /path"} form
+     * @param status    response status, or -1 if no response was received
+     */
+    public void onComplete(String operation, int status, long durationNanos) {
+        inFlight.decrementAndGet();
+        if (registry != null) {
+            meters(operation).timer(status).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    AtomicInteger inFlightGauge() {
+        return inFlight;
+    }
+
+    private OperationMeters meters(String operation) {
+        OperationMeters meters = operations.get(operation);
+        if (meters != null) {
+            return meters;
+        }
+        meters = templateMeters(operation);
+        // Raw paths with ids are unbounded; past the cap they are templated on every call instead
+        if (operations.size() < maxUriTags * 10) {
+            operations.putIfAbsent(operation, meters);
+        }
+        return meters;
+    }
+
+    private OperationMeters templateMeters(String operation) {
+        int space = operation.indexOf(' ');
+        String method = space > 0 ? operation.substring(0, space) : "UNKNOWN";
+        String template = PathTemplates.template(space > 0 ? operation.substring(space + 1) : operation);
+        String uri = isTagged(template) ? template : PathTemplates.OTHER;
+        return templateMeters.computeIfAbsent(method + " " + uri, k -> new OperationMeters(method, uri));
+    }
+
+    private boolean isTagged(String template) {
+        if (uriTemplates.contains(template)) {
+            return true;
+        }
+        if (uriTemplates.size() >= maxUriTags) {
+            return false;
+        }
+        uriTemplates.add(template);
+        return true;
+    }
+
+    private final class OperationMeters {
+        private final String method;
+        private final String uri;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(STATUS_CLASSES.length);
+
+        OperationMeters(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        Timer timer(int status) {
+            int index = status >= 100 && status < 600 ? status / 100 : 0;
+            Timer timer = timers.get(index);
+            if (timer == null) {
+                timer = Timer.builder(REQUESTS)
+                    .description("Requests made by the client")
+                    .tag("client", clientName)
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .tag("status", STATUS_CLASSES[index])
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(registry);
+                timers.set(index, timer);
+            }
+            return timer;
+        }
+    }
+}
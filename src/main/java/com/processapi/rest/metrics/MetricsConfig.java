@@ -0,0 +1,12 @@
+package com.processapi.rest.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client.metrics")
+public class MetricsConfig {
+    private boolean enabled = true;
+    private boolean percentileHistogram = true; // Publish latency histograms for server-side percentiles
+    private int maxUriTags = 100; // Distinct URI templates tagged per client before falling back to "/**"
+}
@@ -0,0 +1,170 @@
+package com.processapi.rest.metrics;
+
+import com.processapi.rest.body.BufferPool;
+import com.processapi.rest.bulkhead.Bulkhead;
+import com.processapi.rest.cache.ResponseCache;
+import com.processapi.rest.circuitbreaker.CircuitBreaker;
+import com.processapi.rest.compression.Compression;
+import com.processapi.rest.hedging.HedgingPolicy;
+import com.processapi.rest.loadbalancer.LoadBalancer;
+import com.processapi.rest.logging.AsyncLogWriter;
+import com.processapi.rest.ratelimit.AdaptiveConcurrencyLimiter;
+import com.processapi.rest.ratelimit.RateLimiter;
+import com.processapi.rest.retry.RetryBudget;
+import com.processapi.rest.timeout.TimeoutManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.pool.ConnPoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes client and resilience component state to Micrometer. Components keep their own
+ * counters; this class only registers gauges and function counters that read them when the
+ * registry is scraped, so nothing is added to the request path apart from the request timers in
+ * {@link ClientMetrics}. With a {@code null} registry every bind is a no-op.
+ */
+@Slf4j
+public class RestClientMetrics {
+    private static final String PREFIX = "rest.client.";
+
+    private final MeterRegistry registry;
+    private final MetricsConfig config;
+    private final Map<String, ClientMetrics> clients = new ConcurrentHashMap<>();
+
+    public RestClientMetrics(MeterRegistry registry, MetricsConfig config) {
+        this.registry = registry;
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    public ClientMetrics getClientMetrics(String clientName) {
+        return clients.computeIfAbsent(clientName, name -> {
+            ClientMetrics metrics = new ClientMetrics(registry, name, config);
+            gauge("requests.active", name, metrics.inFlightGauge(), Number::doubleValue);
+            return metrics;
+        });
+    }
+
+    public void bindConnectionPool(String clientName, String transport, ConnPoolStats<?> pool) {
+        if (registry == null) {
+            return;
+        }
+        Tags tags = Tags.of("client", clientName, "transport", transport);
+        Gauge.builder(PREFIX + "pool.leased", pool, p -> p.getTotalStats().getLeased()).tags(tags).register(registry);
+        Gauge.builder(PREFIX + "pool.available", pool, p -> p.getTotalStats().getAvailable()).tags(tags).register(registry);
+        Gauge.builder(PREFIX + "pool.pending", pool, p -> p.getTotalStats().getPending()).tags(tags).register(registry);
+        Gauge.builder(PREFIX + "pool.max", pool, p -> p.getTotalStats().getMax()).tags(tags).register(registry);
+    }
+
+    public void bindRateLimiter(String clientName, RateLimiter rateLimiter) {
+        gauge("ratelimit.available", clientName, rateLimiter, r -> r.getAvailablePermits(clientName));
+        counter("ratelimit.rejected", Tags.of("client", clientName), rateLimiter, r -> r.getRejectedCount(clientName));
+    }
+
+    public void bindConcurrencyLimiter(String clientName, AdaptiveConcurrencyLimiter limiter) {
+        gauge("concurrency.limit", clientName, limiter, l -> l.getLimit(clientName));
+        gauge("concurrency.inflight", clientName, limiter, l -> l.getInFlight(clientName));
+    }
+
+    public void bindCircuitBreaker(String clientName, CircuitBreaker circuitBreaker) {
+        gauge("circuitbreaker.state", clientName, circuitBreaker, c -> c.getState().ordinal());
+        gauge("circuitbreaker.failure.rate", clientName, circuitBreaker, CircuitBreaker::getFailureRate);
+        gauge("circuitbreaker.slow.call.rate", clientName, circuitBreaker, CircuitBreaker::getSlowCallRate);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            counter("circuitbreaker.transitions", Tags.of("client", clientName, "state", state.name()),
+                circuitBreaker, c -> c.getTransitionCount(state));
+        }
+    }
+
+    public void bindBulkhead(String clientName, Bulkhead bulkhead) {
+        gauge("bulkhead.active", clientName, bulkhead, Bulkhead::getActiveCalls);
+        gauge("bulkhead.queue.depth", clientName, bulkhead, Bulkhead::getQueueDepth);
+        counter("bulkhead.rejected", Tags.of("client", clientName), bulkhead, Bulkhead::getRejectedCount);
+    }
+
+    public void bindRetryBudget(String clientName, RetryBudget retryBudget) {
+        counter("retries", Tags.of("client", clientName, "result", "attempted"), retryBudget, RetryBudget::getRetryCount);
+        counter("retries", Tags.of("client", clientName, "result", "denied"), retryBudget, RetryBudget::getDeniedCount);
+    }
+
+    public void bindHedgingPolicy(String clientName, HedgingPolicy hedgingPolicy) {
+        counter("hedges", Tags.of("client", clientName, "result", "sent"), hedgingPolicy, HedgingPolicy::getHedgeCount);
+        counter("hedges", Tags.of("client", clientName, "result", "denied"), hedgingPolicy, HedgingPolicy::getDeniedCount);
+    }
+
+    public void bindLoadBalancer(String clientName, LoadBalancer loadBalancer) {
+        if (registry == null) {
+            return;
+        }
+        Gauge.builder(PREFIX + "endpoints", loadBalancer, LoadBalancer::getAvailableCount)
+            .tags("client", clientName, "state", "available").register(registry);
+        Gauge.builder(PREFIX + "endpoints", loadBalancer, l -> l.getEndpoints().size() - l.getAvailableCount())
+            .tags("client", clientName, "state", "ejected").register(registry);
+    }
+
+    public void bindTimeoutManager(String clientName, TimeoutManager timeoutManager) {
+        counter("timeouts", Tags.of("client", clientName), timeoutManager, TimeoutManager::getTimeoutCount);
+        gauge("timeout.rate", clientName, timeoutManager, TimeoutManager::getTimeoutRate);
+    }
+
+    public void bindResponseCache(String clientName, ResponseCache cache) {
+        counter("cache.requests", Tags.of("client", clientName, "result", "hit"), cache, ResponseCache::getHitCount);
+        counter("cache.requests", Tags.of("client", clientName, "result", "stale"), cache, ResponseCache::getStaleHitCount);
+        counter("cache.requests", Tags.of("client", clientName, "result", "revalidated"), cache, ResponseCache::getRevalidatedCount);
+        counter("cache.requests", Tags.of("client", clientName, "result", "miss"), cache, ResponseCache::getMissCount);
+        counter("cache.evictions", Tags.of("client", clientName), cache, ResponseCache::getEvictionCount);
+        gauge("cache.size", clientName, cache, ResponseCache::getWeight);
+    }
+
+    public void bindCompression(String clientName, Compression compression) {
+        counter("compression.bytes.saved", Tags.of("client", clientName, "direction", "request"),
+            compression, Compression::getRequestBytesSaved);
+        counter("compression.bytes.saved", Tags.of("client", clientName, "direction", "response"),
+            compression, Compression::getResponseBytesSaved);
+        if (registry == null) {
+            return;
+        }
+        FunctionCounter.builder(PREFIX + "compression.time", compression, c -> c.getEncodeNanos() / 1e9)
+            .tags("client", clientName, "operation", "encode").baseUnit("seconds").register(registry);
+        FunctionCounter.builder(PREFIX + "compression.time", compression, c -> c.getDecodeNanos() / 1e9)
+            .tags("client", clientName, "operation", "decode").baseUnit("seconds").register(registry);
+    }
+
+    public void bindBufferPool(BufferPool pool) {
+        if (registry == null) {
+            return;
+        }
+        Gauge.builder(PREFIX + "body.buffers.pooled", pool, BufferPool::getPooledCount).register(registry);
+        Gauge.builder(PREFIX + "body.buffers.used", pool, BufferPool::getInUseCount).register(registry);
+        FunctionCounter.builder(PREFIX + "body.buffers.allocated", pool, BufferPool::getAllocatedCount).register(registry);
+    }
+
+    public void bindLogWriter(AsyncLogWriter writer) {
+        if (registry == null) {
+            return;
+        }
+        Gauge.builder(PREFIX + "log.queue", writer, AsyncLogWriter::getQueueSize).register(registry);
+        FunctionCounter.builder(PREFIX + "log.dropped", writer, AsyncLogWriter::getDroppedCount).register(registry);
+    }
+
+    private <T> void gauge(String name, String clientName, T target, ToDoubleFunction<T> value) {
+        if (registry != null) {
+            Gauge.builder(PREFIX + name, target, value).tag("client", clientName).register(registry);
+        }
+    }
+
+    private <T> void counter(String name, Tags tags, T target, ToDoubleFunction<T> count) {
+        if (registry != null) {
+            FunctionCounter.builder(PREFIX + name, target, count).tags(tags).register(registry);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.processapi.rest.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of in-flight requests per client to a value that adapts to observed latency
+ * and drops. Unlike {@link RateLimiter} it needs no fixed quota: the limit grows while the
+ * downstream keeps up and shrinks as soon as its latency climbs, shedding load before failures
+ * pile up far enough to open the circuit breaker.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final Permit NOOP_PERMIT = new Permit(null, 0, 0);
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final AdaptiveLimiterConfig config;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveLimiterConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Acquires a slot for one request. The returned permit must be completed exactly once.
+     *
+     * @throws ConcurrencyLimitExceededException if the client is at its current limit
+     */
+    public Permit acquire(String clientName) {
+        if (!config.isEnabled()) {
+            return NOOP_PERMIT;
+        }
+
+        Limit limit = limits.computeIfAbsent(clientName, k -> new Limit(k, newAlgorithm()));
+        int currentLimit = limit.limit;
+        int inFlight;
+        do {
+            inFlight = limit.inFlight.get();
+            if (inFlight >= currentLimit) {
+                log.debug("Concurrency limit {} reached for client: {}", currentLimit, clientName);
+                throw new ConcurrencyLimitExceededException(clientName, currentLimit);
+            }
+        } while (!limit.inFlight.compareAndSet(inFlight, inFlight + 1));
+
+        return new Permit(limit, System.nanoTime(), inFlight + 1);
+    }
+
+    public int getLimit(String clientName) {
+        Limit limit = limits.get(clientName);
+        return limit != null ? limit.limit : config.getInitialLimit();
+    }
+
+    public int getInFlight(String clientName) {
+        Limit limit = limits.get(clientName);
+        return limit != null ? limit.inFlight.get() : 0;
+    }
+
+    private LimitAlgorithm newAlgorithm() {
+        return switch (config.getAlgorithm()) {
+            case AIMD -> new AimdLimitAlgorithm(config.getBackoffRatio());
+            case VEGAS -> new VegasLimitAlgorithm();
+            case GRADIENT -> new GradientLimitAlgorithm(config.getSmoothing());
+        };
+    }
+
+    private class Limit {
+        private final String clientName;
+        private final LimitAlgorithm algorithm;
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+        private volatile int limit;
+        private long lastDecreaseNanos;
+
+        Limit(String clientName, LimitAlgorithm algorithm) {
+            this.clientName = clientName;
+            this.algorithm = algorithm;
+            this.limit = config.getInitialLimit();
+            this.lastDecreaseNanos = System.nanoTime();
+        }
+
+        /**
+         * Updates the limit from the one in effect now. Requests that started before the last
+         * decrease were sent at the old limit: their successes would undo the backoff and their
+         * drops would cut again for the same overload, so they are not sampled.
+         */
+        synchronized void onSample(long startNanos, long rttNanos, int startInFlight, boolean dropped) {
+            if (startNanos - lastDecreaseNanos < 0) {
+                return;
+            }
+            boolean slow = rttNanos > TimeUnit.MILLISECONDS.toNanos(config.getDropTimeout());
+            int newLimit = algorithm.update(limit, rttNanos, startInFlight, dropped || slow);
+            newLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+            if (newLimit != limit) {
+                log.debug("Concurrency limit for {} changed {} -> {}", clientName, limit, newLimit);
+                if (newLimit < limit) {
+                    lastDecreaseNanos = System.nanoTime();
+                }
+                limit = newLimit;
+            }
+        }
+    }
+
+    /**
+     * A slot held by one in-flight request. Completing it releases the slot and, for successes
+     * and drops, feeds the measured RTT back into the limit.
+     */
+    public static final class Permit {
+        private final Limit limit;
+        private final long startNanos;
+        private final int startInFlight;
+
+        private Permit(Limit limit, long startNanos, int startInFlight) {
+            this.limit = limit;
+            this.startNanos = startNanos;
+            this.startInFlight = startInFlight;
+        }
+
+        public void onSuccess() {
+            complete(false, true);
+        }
+
+        public void onDropped() {
+            complete(true, true);
+        }
+
+        /**
+         * Releases the slot without sampling, e.g. for client-side errors that say nothing about
+         * downstream capacity.
+         */
+        public void onIgnore() {
+            complete(false, false);
+        }
+
+        private void complete(boolean dropped, boolean sample) {
+            if (limit == null) {
+                return;
+            }
+            limit.inFlight.decrementAndGet();
+            if (sample) {
+                limit.onSample(startNanos, System.nanoTime() - startNanos, startInFlight, dropped);
+            }
+        }
+    }
+}
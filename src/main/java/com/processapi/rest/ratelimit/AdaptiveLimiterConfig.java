@@ -0,0 +1,21 @@
+package com.processapi.rest.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client.adaptive-limit")
+public class AdaptiveLimiterConfig {
+    private boolean enabled = false;
+    private Algorithm algorithm = Algorithm.GRADIENT;
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    private double backoffRatio = 0.9; // AIMD multiplicative decrease
+    private long dropTimeout = 5000; // RTT in ms above which a call counts as a drop
+    private double smoothing = 0.2; // Gradient limit smoothing
+
+    public enum Algorithm {
+        AIMD, VEGAS, GRADIENT
+    }
+}
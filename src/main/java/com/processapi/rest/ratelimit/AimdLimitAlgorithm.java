@@ -0,0 +1,24 @@
+package com.processapi.rest.ratelimit;
+
+/**
+ * Additive increase, multiplicative decrease. Grows by one while the limit is being used and backs
+ * off by {@code backoffRatio} on every drop.
+ */
+public class AimdLimitAlgorithm implements LimitAlgorithm {
+    private final double backoffRatio;
+
+    public AimdLimitAlgorithm(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public int update(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            return (int) (currentLimit * backoffRatio);
+        }
+        if (inFlight * 2 >= currentLimit) {
+            return currentLimit + 1;
+        }
+        return currentLimit;
+    }
+}
@@ -0,0 +1,15 @@
+package com.processapi.rest.ratelimit;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    private final String clientName;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String clientName, int limit) {
+        super(String.format("Concurrency limit exceeded for client %s. Current limit: %d", clientName, limit));
+        this.clientName = clientName;
+        this.limit = limit;
+    }
+}
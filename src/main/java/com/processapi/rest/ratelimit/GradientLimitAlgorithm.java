@@ -0,0 +1,40 @@
+package com.processapi.rest.ratelimit;
+
+/**
+ * Gradient limit: compares a long-term RTT average against each sample. While the two agree the
+ * limit grows by a queue allowance of {@code sqrt(limit)}; as the sample RTT rises above the
+ * average the gradient drops towards 0.5 and pulls the limit down with it.
+ */
+public class GradientLimitAlgorithm implements LimitAlgorithm {
+    private static final double LONG_WINDOW_WEIGHT = 1.0 / 600;
+
+    private final double smoothing;
+    private double longRtt = 0;
+
+    public GradientLimitAlgorithm(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public int update(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+        } else {
+            longRtt = longRtt * (1 - LONG_WINDOW_WEIGHT) + rttNanos * LONG_WINDOW_WEIGHT;
+        }
+
+        // Let the long-term average recover quickly once latency improves
+        if (longRtt > rttNanos * 2) {
+            longRtt = rttNanos * 1.1;
+        }
+
+        if (!dropped && inFlight * 2 < currentLimit) {
+            return currentLimit;
+        }
+
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, longRtt / rttNanos));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        double smoothed = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        return (int) (smoothed >= currentLimit ? Math.ceil(smoothed) : Math.floor(smoothed));
+    }
+}
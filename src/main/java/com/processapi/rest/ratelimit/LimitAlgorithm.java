@@ -0,0 +1,16 @@
+package com.processapi.rest.ratelimit;
+
+/**
+ * Computes a new concurrency limit from a single request sample.
+ * Implementations keep their own per-client state and are invoked under the owning limit's lock.
+ */
+public interface LimitAlgorithm {
+    /**
+     * @param currentLimit the limit in effect now
+     * @param rttNanos     the measured round-trip time of the request
+     * @param inFlight     the number of requests in flight when the request started
+     * @param dropped      whether the request was dropped (timeout, I/O failure or overload response)
+     * @return the new limit, before clamping to the configured bounds
+     */
+    int update(int currentLimit, long rttNanos, int inFlight, boolean dropped);
+}
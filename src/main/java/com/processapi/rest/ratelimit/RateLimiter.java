@@ -1,69 +1,205 @@
 package com.processapi.rest.ratelimit;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 @Slf4j
 @Component
 public class RateLimiter {
     private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
     private final RateLimiterConfig config;
+    private final SharedBucketFile sharedFile;
+    private final LongSupplier clock;
 
+    @Autowired
     public RateLimiter(RateLimiterConfig config) {
+        // System.nanoTime has a per-process origin, so buckets shared between JVMs use wall-clock time
+        this(config, config.getSharedFile() != null ? RateLimiter::epochNanos : System::nanoTime);
+    }
+
+    RateLimiter(RateLimiterConfig config, LongSupplier clock) {
         this.config = config;
+        this.sharedFile = config.getSharedFile() != null ? openSharedFile(config) : null;
+        this.clock = clock;
     }
 
     public void checkRateLimit(String clientName) {
+        checkRateLimit(clientName, 1);
+    }
+
+    /**
+     * Consumes {@code permits} without waiting.
+     *
+     * @throws RateLimitException if the bucket does not currently hold enough permits
+     */
+    public void checkRateLimit(String clientName, int permits) {
         if (!config.isEnabled()) {
             return;
         }
 
-        TokenBucket bucket = buckets.computeIfAbsent(clientName, k -> new TokenBucket(
-            config.getPermitsPerSecond(),
-            config.getMaxBurstSeconds()
-        ));
-
-        if (!bucket.tryConsume()) {
+        TokenBucket bucket = getBucket(clientName);
+        if (!bucket.tryConsume(permits, 0)) {
+            bucket.rejected.increment();
             log.warn("Rate limit exceeded for client: {}", clientName);
             throw new RateLimitException(clientName, config.getPermitsPerSecond(), config.getMaxBurstSeconds());
         }
     }
 
+    /**
+     * Consumes one permit, waiting up to {@code timeout} for it to become available.
+     *
+     * @throws RateLimitException if no permit becomes available within the timeout
+     */
+    public void acquire(String clientName, Duration timeout) {
+        acquire(clientName, 1, timeout);
+    }
+
+    public void acquire(String clientName, int permits, Duration timeout) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        TokenBucket bucket = getBucket(clientName);
+        if (!bucket.tryConsume(permits, timeout.toNanos())) {
+            bucket.rejected.increment();
+            log.warn("Rate limit exceeded for client: {} (waited up to {} ms)", clientName, timeout.toMillis());
+            throw new RateLimitException(clientName, config.getPermitsPerSecond(), config.getMaxBurstSeconds());
+        }
+    }
+
+    /**
+     * Reserves {@code permits} unconditionally and returns how long the caller must wait before
+     * using them. Lets weighted or non-blocking callers schedule work instead of sleeping.
+     */
+    public Duration reserve(String clientName, int permits) {
+        if (!config.isEnabled()) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(getBucket(clientName).reserve(permits));
+    }
+
+    public long getAvailablePermits(String clientName) {
+        TokenBucket bucket = buckets.get(clientName);
+        return bucket != null ? bucket.availablePermits() : (long) config.getPermitsPerSecond() * config.getMaxBurstSeconds();
+    }
+
+    public long getRejectedCount(String clientName) {
+        TokenBucket bucket = buckets.get(clientName);
+        return bucket != null ? bucket.rejected.sum() : 0;
+    }
+
+    private TokenBucket getBucket(String clientName) {
+        return buckets.computeIfAbsent(clientName, k -> new TokenBucket(
+            config.getPermitsPerSecond(), config.getMaxBurstSeconds(),
+            sharedFile != null ? sharedFile.state(clientName) : new LocalState(clock.getAsLong()), clock));
+    }
+
+    private static SharedBucketFile openSharedFile(RateLimiterConfig config) {
+        Path path = Path.of(config.getSharedFile());
+        try {
+            log.info("Using shared rate limit file: {}", path);
+            return new SharedBucketFile(path, config.getSharedSlots());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open shared rate limit file " + path, e);
+        }
+    }
+
+    private static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    /**
+     * Storage for a bucket's theoretical arrival time.
+     */
+    interface BucketState {
+        long get();
+
+        boolean compareAndSet(long expected, long updated);
+    }
+
+    private static class LocalState extends AtomicLong implements BucketState {
+        LocalState(long initialValue) {
+            super(initialValue);
+        }
+    }
+
+    /**
+     * Token bucket with continuous refill, kept as a single "theoretical arrival time" so that
+     * refill and consumption happen in one CAS. The bucket is full when the arrival time is at or
+     * behind the clock; every permit pushes it forward by one emission interval, and a request is
+     * admitted while the arrival time stays within the burst capacity of now.
+     */
     private static class TokenBucket {
-        private final int permitsPerSecond;
-        private final int maxBurstSeconds;
-        private final AtomicLong tokens;
-        private volatile Instant lastRefill;
-
-        TokenBucket(int permitsPerSecond, int maxBurstSeconds) {
-            this.permitsPerSecond = permitsPerSecond;
-            this.maxBurstSeconds = maxBurstSeconds;
-            this.tokens = new AtomicLong(permitsPerSecond * maxBurstSeconds);
-            this.lastRefill = Instant.now();
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final BucketState arrivalTime;
+        private final LongSupplier clock;
+        private final LongAdder rejected = new LongAdder();
+
+        TokenBucket(int permitsPerSecond, int maxBurstSeconds, BucketState arrivalTime, LongSupplier clock) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+            this.capacityNanos = intervalNanos * Math.max(1, (long) permitsPerSecond * maxBurstSeconds);
+            this.arrivalTime = arrivalTime;
+            this.clock = clock;
         }
 
-        boolean tryConsume() {
-            refill();
-            return tokens.updateAndGet(current -> current > 0 ? current - 1 : current) >= 0;
+        /**
+         * Consumes permits if they are available now or will be within {@code maxWaitNanos},
+         * parking the caller for the remaining time in the latter case.
+         */
+        boolean tryConsume(int permits, long maxWaitNanos) {
+            long waitNanos;
+            while (true) {
+                long now = clock.getAsLong();
+                long current = arrivalTime.get();
+                long next = Math.max(current - now, 0) + now + permits * intervalNanos;
+                waitNanos = next - now - capacityNanos;
+                if (waitNanos > maxWaitNanos) {
+                    return false;
+                }
+                if (arrivalTime.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for rate limit permit", e);
+                }
+            }
+            return true;
         }
 
-        private void refill() {
-            Instant now = Instant.now();
-            long elapsedMillis = Duration.between(lastRefill, now).toMillis();
-            if (elapsedMillis < 1000) {
-                return;
+        long reserve(int permits) {
+            while (true) {
+                long now = clock.getAsLong();
+                long current = arrivalTime.get();
+                long next = Math.max(current - now, 0) + now + permits * intervalNanos;
+                if (arrivalTime.compareAndSet(current, next)) {
+                    return Math.max(0, next - now - capacityNanos);
+                }
             }
+        }
 
-            long newTokens = (elapsedMillis / 1000) * permitsPerSecond;
-            long maxTokens = permitsPerSecond * maxBurstSeconds;
-            tokens.updateAndGet(current -> Math.min(maxTokens, current + newTokens));
-            lastRefill = now;
+        long availablePermits() {
+            long backlog = Math.max(arrivalTime.get() - clock.getAsLong(), 0);
+            return Math.max(0, (capacityNanos - backlog) / intervalNanos);
         }
     }
-} 
\ No newline at end of file
+}
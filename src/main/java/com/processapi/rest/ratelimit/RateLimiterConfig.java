@@ -9,4 +9,6 @@ public class RateLimiterConfig {
     private int permitsPerSecond = 10;
     private int maxBurstSeconds = 1;
     private boolean enabled = true;
+    private String sharedFile; // Memory-mapped file shared by all JVMs on the host; null keeps buckets in-process
+    private int sharedSlots = 1024;
 } 
\ No newline at end of file
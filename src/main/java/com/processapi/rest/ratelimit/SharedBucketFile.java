@@ -0,0 +1,85 @@
+package com.processapi.rest.ratelimit;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Token bucket state shared between processes on the same host through a memory-mapped file.
+ * The file is a fixed table of slots, each holding a client-name hash and that client's bucket
+ * state. Slots are claimed and updated with atomic VarHandle operations on the mapping, so every
+ * JVM mapping the same file draws from one quota without locks or any external service.
+ */
+class SharedBucketFile {
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+
+    private final Path path;
+    private final int slots;
+    private final MappedByteBuffer buffer;
+
+    SharedBucketFile(Path path, int slots) throws IOException {
+        this.path = path;
+        this.slots = slots;
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * SLOT_BYTES);
+        }
+    }
+
+    /**
+     * Returns the state slot for a client, claiming a free slot on first use. A zero state reads as
+     * a full bucket, so freshly claimed slots need no initialisation.
+     */
+    RateLimiter.BucketState state(String clientName) {
+        long key = hash(clientName);
+        int start = (int) Math.floorMod(key, (long) slots);
+        for (int i = 0; i < slots; i++) {
+            int offset = ((start + i) % slots) * SLOT_BYTES;
+            long existing = (long) LONGS.getVolatile(buffer, offset);
+            if (existing == 0 && LONGS.compareAndSet(buffer, offset, 0L, key)) {
+                existing = key;
+            } else if (existing == 0) {
+                existing = (long) LONGS.getVolatile(buffer, offset);
+            }
+            if (existing == key) {
+                return new MappedState(offset + Long.BYTES);
+            }
+        }
+        throw new IllegalStateException("No free slot for client " + clientName + " in shared rate limit file " + path);
+    }
+
+    private static long hash(String clientName) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : clientName.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash != 0 ? hash : 1;
+    }
+
+    private class MappedState implements RateLimiter.BucketState {
+        private final int offset;
+
+        MappedState(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public long get() {
+            return (long) LONGS.getVolatile(buffer, offset);
+        }
+
+        @Override
+        public boolean compareAndSet(long expected, long updated) {
+            return LONGS.compareAndSet(buffer, offset, expected, updated);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.processapi.rest.ratelimit;
+
+/**
+ * Delay-based limit modelled on TCP Vegas. The estimated queue at the downstream is
+ * {@code limit * (1 - rttNoLoad / rtt)}, where {@code rttNoLoad} is the lowest RTT seen so far.
+ * The limit grows while the queue stays short and shrinks once it builds up.
+ */
+public class VegasLimitAlgorithm implements LimitAlgorithm {
+    private long rttNoLoad = 0;
+
+    @Override
+    public int update(int currentLimit, long rttNanos, int inFlight, boolean dropped) {
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return currentLimit;
+        }
+
+        int log10 = Math.max(1, (int) Math.log10(currentLimit));
+        if (dropped) {
+            return currentLimit - log10;
+        }
+        if (inFlight * 2 < currentLimit) {
+            return currentLimit;
+        }
+
+        int queueSize = (int) Math.ceil(currentLimit * (1 - (double) rttNoLoad / rttNanos));
+        if (queueSize <= log10) {
+            return currentLimit + 6 * log10;
+        } else if (queueSize < 3 * log10) {
+            return currentLimit + log10;
+        } else if (queueSize > 6 * log10) {
+            return currentLimit - log10;
+        }
+        return currentLimit;
+    }
+}
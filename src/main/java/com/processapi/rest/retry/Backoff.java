@@ -0,0 +1,41 @@
+package com.processapi.rest.retry;
+
+import com.processapi.rest.config.RetryConfig;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes retry delays from {@link RetryConfig}. Without jitter the delay grows exponentially
+ * and every client that failed at the same moment retries at the same moment; {@code FULL}
+ * picks a random delay up to the exponential one and {@code DECORRELATED} a random delay between
+ * the initial interval and three times the previous delay, both capped at {@code maxInterval}.
+ */
+public class Backoff {
+    private final RetryConfig config;
+
+    public Backoff(RetryConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @param attempt the attempt that just failed, starting at 1
+     * @param previousDelay the delay before that attempt, or 0 for the first one
+     */
+    public long nextDelay(int attempt, long previousDelay) {
+        long initial = config.getInitialInterval();
+        long max = config.getMaxInterval();
+        switch (config.getJitter()) {
+            case FULL:
+                return ThreadLocalRandom.current().nextLong(exponential(attempt, initial, max) + 1);
+            case DECORRELATED:
+                long upper = Math.max(initial, Math.min(max, previousDelay * 3));
+                return ThreadLocalRandom.current().nextLong(initial, upper + 1);
+            default:
+                return exponential(attempt, initial, max);
+        }
+    }
+
+    private long exponential(int attempt, long initial, long max) {
+        return Math.min((long) (initial * Math.pow(config.getMultiplier(), attempt - 1)), max);
+    }
+}
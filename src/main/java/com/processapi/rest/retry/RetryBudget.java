@@ -0,0 +1,52 @@
+package com.processapi.rest.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-wide cap on retries. Every successful call deposits {@code ratio} of a retry and every
+ * retry withdraws a whole one, so in steady state retries stay below {@code ratio} times the
+ * successful calls. The balance starts at {@code maxRetries}, which lets a quiet client retry
+ * occasional failures, and is never allowed above it. In an outage nothing succeeds, the budget
+ * runs dry and failures are returned immediately instead of multiplying load downstream.
+ */
+public class RetryBudget {
+    private static final long TOKEN = 1000;
+
+    private final long depositPerSuccess;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder deniedCount = new LongAdder();
+
+    public RetryBudget(double ratio, int maxRetries) {
+        this.depositPerSuccess = (long) (TOKEN * ratio);
+        this.maxBalance = TOKEN * Math.max(1, maxRetries);
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void onSuccess() {
+        balance.accumulateAndGet(depositPerSuccess, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                deniedCount.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        retryCount.increment();
+        return true;
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getDeniedCount() {
+        return deniedCount.sum();
+    }
+}
@@ -0,0 +1,25 @@
+package com.processapi.rest.retry;
+
+import com.processapi.rest.config.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class RetryBudgetFactory {
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    public RetryBudget getRetryBudget(String name, RetryConfig config) {
+        return retryBudgets.computeIfAbsent(name, k -> {
+            log.info("Creating retry budget for: {}", name);
+            return new RetryBudget(config.getBudgetRatio(), config.getBudgetMaxRetries());
+        });
+    }
+
+    public Map<String, RetryBudget> getRetryBudgets() {
+        return Map.copyOf(retryBudgets);
+    }
+}
@@ -0,0 +1,105 @@
+package com.processapi.rest.timeout;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free latency histogram with log-linear buckets in the style of HdrHistogram: values are
+ * tracked in microseconds with 16 linear sub-buckets per power of two, which bounds the relative
+ * error of any percentile to about 6% over a range from 1 microsecond to roughly 19 hours.
+ * <p>
+ * Samples are kept over a rolling window made of two phases of {@code window} length each; a
+ * percentile covers the current phase plus the previous one, so old latency drops out after at
+ * most two windows while there is always at least one full window of data.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long windowNanos;
+    private final AtomicReference<Phase> current = new AtomicReference<>(new Phase());
+    private volatile Phase previous = new Phase();
+    private final AtomicLong rotateAt;
+
+    public LatencyHistogram(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.rotateAt = new AtomicLong(System.nanoTime() + windowNanos);
+    }
+
+    public void record(Duration latency) {
+        record(latency.toNanos());
+    }
+
+    public void record(long latencyNanos) {
+        rotateIfDue();
+        long micros = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        Phase phase = current.get();
+        phase.counts.incrementAndGet(indexOf(micros));
+        phase.total.incrementAndGet();
+    }
+
+    public long getCount() {
+        rotateIfDue();
+        return current.get().total.get() + previous.total.get();
+    }
+
+    /**
+     * Returns the latency at the given percentile (0-100), or {@link Duration#ZERO} if no samples
+     * have been recorded in the window.
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        rotateIfDue();
+        Phase latest = current.get();
+        Phase older = previous;
+        long total = latest.total.get() + older.total.get();
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latest.counts.get(i) + older.counts.get(i);
+            if (seen >= target) {
+                return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(highestValueIn(i)));
+            }
+        }
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(MAX_VALUE));
+    }
+
+    private void rotateIfDue() {
+        long now = System.nanoTime();
+        long due = rotateAt.get();
+        if (now - due >= 0 && rotateAt.compareAndSet(due, now + windowNanos)) {
+            previous = current.getAndSet(new Phase());
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - (long) shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    private static class Phase {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong(0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.processapi.rest.timeout;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "rest-client.timeout")
+public class TimeoutConfig {
+    private long defaultTimeout = 10000;
+    /**
+     * @deprecated timeouts are derived from {@link #percentile} and {@link #headroom}
+     */
+    @Deprecated
+    private double adjustmentFactor = 0.1;
+    private double percentile = 99.0;
+    private double headroom = 0.5; // Fraction added on top of the observed percentile
+    private long minTimeout = 1000;
+    private long maxTimeout = 30000;
+    private int maxOperations = 100; // Path templates tracked per client before further paths share "/**"
+}
@@ -1,35 +1,90 @@
 package com.processapi.rest.timeout;
 
+import com.processapi.rest.util.PathTemplates;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.client.ClientHttpRequestFactory;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Tracks latency per operation in a {@link LatencyHistogram} and derives each operation's timeout
+ * from it: the latency at {@code percentile} plus {@code headroom}, clamped to the configured
+ * bounds. Until an operation has enough samples it uses {@code defaultTimeout}. The timeout is
+ * recomputed every few samples and published as an immutable {@link RequestConfig}, so applying
+ * it to a request is a single volatile read.
+ * <p>
+ * Operations are tracked by method and path template, so {@code /orders/42} and
+ * {@code /orders/43} share one histogram. At most {@code maxOperations} templates are tracked;
+ * further paths share one {@code /**} entry per method.
+ */
 @Slf4j
 public class TimeoutManager {
+    private static final int MIN_PERCENTILE_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 16;
+    private static final Duration LATENCY_WINDOW = Duration.ofSeconds(60);
+    private static final double DEFAULT_PERCENTILE = 99.0;
+    private static final double DEFAULT_HEADROOM = 0.5;
+    private static final int DEFAULT_MAX_OPERATIONS = 100;
+
+    private final Map<String, OperationTimeout> operations = new ConcurrentHashMap<>();
     private final Map<String, OperationTimeout> operationTimeouts = new ConcurrentHashMap<>();
     private final AtomicLong totalRequests = new AtomicLong(0);
     private final AtomicLong timeoutCount = new AtomicLong(0);
     private final Duration defaultTimeout;
-    private final double timeoutAdjustmentFactor;
+    private final double percentile;
+    private final double headroom;
     private final Duration minTimeout;
     private final Duration maxTimeout;
+    private final int maxOperations;
 
-    public TimeoutManager(Duration defaultTimeout, double timeoutAdjustmentFactor, 
+    /**
+     * @deprecated the fixed adjustment factor was replaced by percentile-based timeouts; use
+     * {@link #TimeoutManager(Duration, double, double, Duration, Duration)}
+     */
+    @Deprecated
+    public TimeoutManager(Duration defaultTimeout, double timeoutAdjustmentFactor,
                          Duration minTimeout, Duration maxTimeout) {
+        this(defaultTimeout, DEFAULT_PERCENTILE, DEFAULT_HEADROOM, minTimeout, maxTimeout);
+    }
+
+    public TimeoutManager(Duration defaultTimeout, double percentile, double headroom,
+                          Duration minTimeout, Duration maxTimeout) {
+        this(defaultTimeout, percentile, headroom, minTimeout, maxTimeout, DEFAULT_MAX_OPERATIONS);
+    }
+
+    /**
+     * @param maxOperations path templates tracked before further paths share a {@code /**} entry
+     */
+    public TimeoutManager(Duration defaultTimeout, double percentile, double headroom,
+                          Duration minTimeout, Duration maxTimeout, int maxOperations) {
         this.defaultTimeout = defaultTimeout;
-        this.timeoutAdjustmentFactor = timeoutAdjustmentFactor;
+        this.percentile = percentile;
+        this.headroom = headroom;
         this.minTimeout = minTimeout;
         this.maxTimeout = maxTimeout;
+        this.maxOperations = maxOperations;
+    }
+
+    public static String operationKey(String method, URI uri) {
+        return method + " " + uri.getPath();
     }
 
     public Duration getTimeout(String operation) {
-        OperationTimeout timeout = operationTimeouts.computeIfAbsent(operation, 
-            k -> new OperationTimeout(defaultTimeout));
-        return timeout.getCurrentTimeout();
+        return getOperationTimeout(operation).currentTimeout;
+    }
+
+    /**
+     * Returns the request configuration carrying the operation's current response and
+     * connection-request timeouts.
+     */
+    public RequestConfig getRequestConfig(String operation) {
+        return getOperationTimeout(operation).requestConfig;
     }
 
     public void recordOperation(String operation, Duration executionTime, boolean timedOut) {
@@ -38,10 +93,27 @@ public class TimeoutManager {
             timeoutCount.incrementAndGet();
         }
 
-        OperationTimeout timeout = operationTimeouts.get(operation);
-        if (timeout != null) {
-            timeout.adjustTimeout(executionTime, timedOut);
+        getOperationTimeout(operation).record(executionTime, timedOut);
+    }
+
+    /**
+     * Returns the observed latency of an operation at the given percentile, or empty until enough
+     * samples have been recorded to make the estimate meaningful.
+     */
+    public Optional<Duration> getLatencyPercentile(String operation, double percentile) {
+        OperationTimeout timeout = getOperationTimeout(operation);
+        if (timeout.latencies.getCount() < MIN_PERCENTILE_SAMPLES) {
+            return Optional.empty();
         }
+        return Optional.of(timeout.latencies.getValueAtPercentile(percentile));
+    }
+
+    public long getRequestCount() {
+        return totalRequests.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
     }
 
     public double getTimeoutRate() {
@@ -49,35 +121,77 @@ public class TimeoutManager {
         return total > 0 ? (double) timeoutCount.get() / total : 0.0;
     }
 
+    /**
+     * Returns the number of operations tracked, one per method and path template.
+     */
+    public int getOperationCount() {
+        return operationTimeouts.size();
+    }
+
+    private OperationTimeout getOperationTimeout(String operation) {
+        OperationTimeout timeout = operations.get(operation);
+        if (timeout != null) {
+            return timeout;
+        }
+        timeout = templateTimeout(operation);
+        // Raw paths with ids are unbounded; past the cap they are templated on every call instead
+        if (operations.size() < maxOperations * 10) {
+            operations.putIfAbsent(operation, timeout);
+        }
+        return timeout;
+    }
+
+    private OperationTimeout templateTimeout(String operation) {
+        int space = operation.indexOf(' ');
+        String method = space > 0 ? operation.substring(0, space) : "UNKNOWN";
+        String key = method + " " + PathTemplates.template(space > 0 ? operation.substring(space + 1) : operation);
+        OperationTimeout timeout = operationTimeouts.get(key);
+        if (timeout != null) {
+            return timeout;
+        }
+        if (operationTimeouts.size() >= maxOperations) {
+            key = method + " " + PathTemplates.OTHER;
+        }
+        return operationTimeouts.computeIfAbsent(key, k -> new OperationTimeout(defaultTimeout));
+    }
+
     private class OperationTimeout {
-        private Duration currentTimeout;
-        private final AtomicLong successCount = new AtomicLong(0);
-        private final AtomicLong failureCount = new AtomicLong(0);
+        private final AtomicLong samples = new AtomicLong(0);
+        private final LatencyHistogram latencies = new LatencyHistogram(LATENCY_WINDOW);
+        private volatile Duration currentTimeout;
+        private volatile RequestConfig requestConfig;
 
-        public OperationTimeout(Duration initialTimeout) {
-            this.currentTimeout = initialTimeout;
+        OperationTimeout(Duration initialTimeout) {
+            publish(initialTimeout);
         }
 
-        public Duration getCurrentTimeout() {
-            return currentTimeout;
+        void record(Duration executionTime, boolean timedOut) {
+            latencies.record(executionTime);
+            if (timedOut || samples.incrementAndGet() % RECOMPUTE_INTERVAL == 0) {
+                recompute();
+            }
         }
 
-        public void adjustTimeout(Duration executionTime, boolean timedOut) {
-            if (timedOut) {
-                failureCount.incrementAndGet();
-                // Increase timeout
-                currentTimeout = Duration.ofMillis(
-                    Math.min(maxTimeout.toMillis(), 
-                    (long) (currentTimeout.toMillis() * (1 + timeoutAdjustmentFactor))));
-            } else {
-                successCount.incrementAndGet();
-                // Decrease timeout if we're consistently successful
-                if (successCount.get() % 10 == 0) { // Adjust every 10 successful requests
-                    currentTimeout = Duration.ofMillis(
-                        Math.max(minTimeout.toMillis(), 
-                        (long) (currentTimeout.toMillis() * (1 - timeoutAdjustmentFactor))));
-                }
+        private void recompute() {
+            if (latencies.getCount() < MIN_PERCENTILE_SAMPLES) {
+                return;
             }
+
+            long observed = latencies.getValueAtPercentile(percentile).toMillis();
+            long timeout = Math.max(minTimeout.toMillis(),
+                Math.min(maxTimeout.toMillis(), (long) (observed * (1 + headroom))));
+            if (timeout != currentTimeout.toMillis()) {
+                publish(Duration.ofMillis(timeout));
+            }
+        }
+
+        private void publish(Duration timeout) {
+            Timeout value = Timeout.ofMilliseconds(timeout.toMillis());
+            requestConfig = RequestConfig.custom()
+                .setResponseTimeout(value)
+                .setConnectionRequestTimeout(value)
+                .build();
+            currentTimeout = timeout;
         }
     }
-} 
\ No newline at end of file
+}
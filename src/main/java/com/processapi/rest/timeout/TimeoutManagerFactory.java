@@ -0,0 +1,32 @@
+package com.processapi.rest.timeout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class TimeoutManagerFactory {
+    private final Map<String, TimeoutManager> timeoutManagers = new ConcurrentHashMap<>();
+
+    public TimeoutManager getTimeoutManager(String name, TimeoutConfig config) {
+        return timeoutManagers.computeIfAbsent(name, k -> {
+            log.info("Creating timeout manager for: {}", name);
+            return new TimeoutManager(
+                Duration.ofMillis(config.getDefaultTimeout()),
+                config.getPercentile(),
+                config.getHeadroom(),
+                Duration.ofMillis(config.getMinTimeout()),
+                Duration.ofMillis(config.getMaxTimeout()),
+                config.getMaxOperations()
+            );
+        });
+    }
+
+    public Map<String, TimeoutManager> getTimeoutManagers() {
+        return Map.copyOf(timeoutManagers);
+    }
+}
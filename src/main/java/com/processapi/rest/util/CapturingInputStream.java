@@ -0,0 +1,85 @@
+package com.processapi.rest.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Passes a stream through unchanged while keeping a copy of at most {@code maxCapture} of the
+ * bytes read from it, so a body can be logged or reported without buffering all of it.
+ */
+public class CapturingInputStream extends FilterInputStream {
+    private final int maxCapture;
+    private final ByteArrayOutputStream captured;
+    private boolean truncated;
+
+    public CapturingInputStream(InputStream in, int maxCapture) {
+        super(in);
+        this.maxCapture = Math.max(0, maxCapture);
+        this.captured = new ByteArrayOutputStream(Math.min(this.maxCapture, 1024));
+    }
+
+    /**
+     * Wraps {@code in}, reads up to {@code maxCapture} bytes from it and returns the captured text.
+     * The stream is not closed.
+     */
+    public static String readCapped(InputStream in, int maxCapture, Charset charset) throws IOException {
+        CapturingInputStream capturing = new CapturingInputStream(in, maxCapture);
+        byte[] buffer = new byte[Math.min(8192, capturing.maxCapture + 1)];
+        while (!capturing.truncated && capturing.read(buffer, 0, buffer.length) >= 0) {
+            // reading until the cap is passed or the stream ends
+        }
+        return capturing.getCapturedText(charset);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = super.read(b, off, len);
+        if (count > 0) {
+            capture(b, off, count);
+        }
+        return count;
+    }
+
+    public byte[] getCaptured() {
+        return captured.toByteArray();
+    }
+
+    public String getCapturedText() {
+        return getCapturedText(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the captured bytes as text, followed by "..." if more was read than was captured.
+     */
+    public String getCapturedText(Charset charset) {
+        String text = captured.toString(charset);
+        return truncated ? text + "..." : text;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        int room = maxCapture - captured.size();
+        if (len > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            captured.write(b, off, Math.min(room, len));
+        }
+    }
+}
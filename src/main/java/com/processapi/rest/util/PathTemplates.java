@@ -0,0 +1,37 @@
+package com.processapi.rest.util;
+
+/**
+ * Reduces request paths to templates by replacing id-like segments, numeric, UUID or long hex,
+ * with {@code {id}}, so per-operation state and meters stay bounded however many ids are called.
+ */
+public final class PathTemplates {
+    /** Stands in for every path beyond a caller's cap on distinct templates. */
+    public static final String OTHER = "/**";
+
+    private PathTemplates() {
+    }
+
+    public static String template(String path) {
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (isId(segments[i])) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        boolean digits = true;
+        boolean hex = segment.length() >= 16;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            digits &= Character.isDigit(c);
+            hex &= Character.digit(c, 16) >= 0 || c == '-';
+        }
+        return digits || hex;
+    }
+}
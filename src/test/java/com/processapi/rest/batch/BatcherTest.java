@@ -0,0 +1,192 @@
+package com.processapi.rest.batch;
+
+import com.processapi.rest.exception.RestClientException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatcherTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private final Endpoint endpoint = new Endpoint();
+
+    @Test
+    void fullBatchIsSentAtOnceAndSplitInOrder() throws Exception {
+        Batcher<Integer, String, List<String>> batcher = batcher(3, NEVER);
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        assertTrue(endpoint.requests.isEmpty());
+
+        CompletableFuture<String> third = batcher.submit(3);
+        assertEquals(List.of(List.of(1, 2, 3)), endpoint.requests);
+        assertFalse(first.isDone());
+
+        endpoint.responses.get(0).complete(List.of("one", "two", "three"));
+        assertEquals("one", first.get());
+        assertEquals("two", second.get());
+        assertEquals("three", third.get());
+    }
+
+    @Test
+    void itemsAfterAFullBatchStartANewOne() {
+        Batcher<Integer, String, List<String>> batcher = batcher(2, NEVER);
+        for (int i = 1; i <= 5; i++) {
+            batcher.submit(i);
+        }
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4)), endpoint.requests);
+
+        batcher.flush();
+        assertEquals(List.of(5), endpoint.requests.get(2));
+    }
+
+    @Test
+    void flushSendsThePendingItemsOnlyOnce() throws Exception {
+        Batcher<Integer, String, List<String>> batcher = batcher(10, NEVER);
+        CompletableFuture<String> result = batcher.submit(1);
+
+        batcher.flush();
+        batcher.flush();
+        assertEquals(List.of(List.of(1)), endpoint.requests);
+        endpoint.responses.get(0).complete(List.of("one"));
+        assertEquals("one", result.get());
+    }
+
+    @Test
+    void partialBatchIsSentOnceItsFirstItemHasLingered() throws Exception {
+        endpoint.echo = true;
+        Batcher<Integer, String, List<String>> batcher = batcher(10, Duration.ofMillis(10));
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertEquals("1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, endpoint.requests.size());
+    }
+
+    @Test
+    void lingerTimerOfASentBatchDoesNotFlushTheNextOne() throws Exception {
+        Batcher<Integer, String, List<String>> batcher = batcher(2, Duration.ofMillis(10));
+        batcher.submit(1);
+        batcher.submit(2);
+        Thread.sleep(50);
+
+        batcher.submit(3);
+        batcher.submit(4);
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4)), endpoint.requests);
+    }
+
+    @Test
+    void batchSizeBelowOneSendsEachItemAlone() {
+        Batcher<Integer, String, List<String>> batcher = batcher(0, NEVER);
+        batcher.submit(1);
+        batcher.submit(2);
+
+        assertEquals(List.of(List.of(1), List.of(2)), endpoint.requests);
+    }
+
+    @Test
+    void failedCallFailsEveryItemWithTheSameError() {
+        Batcher<Integer, String, List<String>> batcher = batcher(2, NEVER);
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        RestClientException failure = new RestClientException("test", "unavailable");
+        endpoint.responses.get(0).completeExceptionally(failure);
+        assertSame(failure, causeOf(first));
+        assertSame(failure, causeOf(second));
+    }
+
+    @Test
+    void callThatThrowsFailsEveryItem() {
+        endpoint.failure = new IllegalStateException("rejected");
+        Batcher<Integer, String, List<String>> batcher = batcher(2, NEVER);
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertSame(endpoint.failure, causeOf(first));
+        assertSame(endpoint.failure, causeOf(second));
+    }
+
+    @Test
+    void responseWithTheWrongNumberOfResultsFailsTheBatch() {
+        Batcher<Integer, String, List<String>> batcher = batcher(2, NEVER);
+        CompletableFuture<String> first = batcher.submit(1);
+        batcher.submit(2);
+
+        endpoint.responses.get(0).complete(List.of("one"));
+        RestClientException e = assertInstanceOf(RestClientException.class, causeOf(first));
+        assertEquals("test", e.getClientName());
+    }
+
+    @Test
+    void mappingFailureFailsTheBatch() {
+        Batcher<Integer, String, List<String>> batcher = batcher(1, NEVER);
+        CompletableFuture<String> result = batcher.submit(1);
+
+        endpoint.responses.get(0).complete(null);
+        assertInstanceOf(NullPointerException.class, causeOf(result));
+    }
+
+    private Batcher<Integer, String, List<String>> batcher(int maxBatchSize, Duration maxLinger) {
+        return new Batcher<>("test", "/batch", endpoint::post, new Mapping(), maxBatchSize, maxLinger);
+    }
+
+    private static Throwable causeOf(CompletableFuture<String> result) {
+        return assertThrows(ExecutionException.class, result::get).getCause();
+    }
+
+    /**
+     * Records each batch request; its response completes when the test completes it, or at once
+     * with the items as strings when {@code echo} is set.
+     */
+    private static final class Endpoint {
+        final List<Object> requests = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<List<String>>> responses = new CopyOnWriteArrayList<>();
+        volatile boolean echo;
+        volatile RuntimeException failure;
+
+        CompletableFuture<List<String>> post(Object request) {
+            if (failure != null) {
+                throw failure;
+            }
+            requests.add(request);
+            CompletableFuture<List<String>> response = new CompletableFuture<>();
+            responses.add(response);
+            if (echo) {
+                response.complete(((List<?>) request).stream().map(String::valueOf).toList());
+            }
+            return response;
+        }
+    }
+
+    private static final class Mapping implements BatchMapping<Integer, String, List<String>> {
+
+        @Override
+        public Object toRequest(List<Integer> items) {
+            return List.copyOf(items);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<List<String>> responseType() {
+            return (Class<List<String>>) (Class<?>) List.class;
+        }
+
+        @Override
+        public List<String> fromResponse(List<Integer> items, List<String> response) {
+            return List.copyOf(response);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.processapi.rest.body;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledBodyTest {
+    private final BufferPool pool = new BufferPool(4, 8, false);
+
+    @Test
+    void writesFillPooledChunksInOrder() throws IOException {
+        PooledBody body = write("0123456789");
+
+        assertEquals(10, body.size());
+        assertEquals(3, body.views().length);
+        assertEquals(3, pool.getInUseCount());
+        assertEquals("0123456789", read(body.views()));
+    }
+
+    @Test
+    void singleByteWritesShareChunks() throws IOException {
+        PooledBody body = PooledBody.allocate(pool);
+        OutputStream out = body.outputStream();
+        for (byte b : "abcde".getBytes(StandardCharsets.UTF_8)) {
+            out.write(b);
+        }
+
+        assertEquals(5, body.size());
+        assertEquals(2, pool.getInUseCount());
+        assertEquals("abcde", read(body.views()));
+    }
+
+    @Test
+    void viewsAreIndependentAndReadOnly() throws IOException {
+        PooledBody body = write("0123456789");
+        ByteBuffer[] first = body.views();
+
+        assertEquals("0123456789", read(first));
+        assertEquals("0123456789", read(body.views()));
+        assertThrows(ReadOnlyBufferException.class, () -> body.views()[0].put(0, (byte) 'x'));
+    }
+
+    @Test
+    void buffersReturnOnlyWhenTheLastReferenceIsReleased() throws IOException {
+        PooledBody body = write("0123456789");
+        body.retain();
+        body.retain();
+
+        body.close();
+        body.release();
+        assertEquals(3, pool.getInUseCount());
+        assertEquals("0123456789", read(body.views()));
+
+        body.release();
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(3, pool.getPooledCount());
+    }
+
+    @Test
+    void releasedBuffersAreReusedClean() throws IOException {
+        write("0123456789").release();
+
+        PooledBody body = write("ab");
+        assertEquals(3, pool.getAllocatedCount());
+        assertEquals("ab", read(body.views()));
+    }
+
+    @Test
+    void wrappedBodyIsReadOnlyAndUnpooled() {
+        PooledBody body = PooledBody.wrap("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(5, body.size());
+        assertEquals("hello", read(body.views()));
+        assertThrows(IllegalStateException.class, body::outputStream);
+        body.release();
+        assertEquals(0, pool.getInUseCount());
+    }
+
+    @Test
+    void producerResumesWhenTheChannelIsFullAndReplaysAfterRelease() throws IOException {
+        PooledBody body = write("0123456789");
+        AsyncEntityProducer producer = body.entityProducer(ContentType.APPLICATION_JSON, "gzip");
+        assertTrue(producer.isRepeatable());
+        assertEquals(10, producer.getContentLength());
+        assertEquals("gzip", producer.getContentEncoding());
+
+        Channel channel = new Channel(3);
+        while (!channel.ended) {
+            producer.produce(channel);
+        }
+        assertEquals("0123456789", channel.written());
+        assertEquals(0, producer.available());
+
+        producer.releaseResources();
+        assertEquals(10, producer.available());
+        Channel replay = new Channel(100);
+        producer.produce(replay);
+        assertTrue(replay.ended);
+        assertEquals("0123456789", replay.written());
+    }
+
+    @Test
+    void emptyBodyEndsTheStreamAtOnce() throws IOException {
+        PooledBody body = PooledBody.allocate(pool);
+        Channel channel = new Channel(100);
+
+        body.entityProducer(null, null).produce(channel);
+        assertTrue(channel.ended);
+        assertEquals("", channel.written());
+        assertEquals(0, pool.getInUseCount());
+    }
+
+    private PooledBody write(String content) throws IOException {
+        PooledBody body = PooledBody.allocate(pool);
+        body.outputStream().write(content.getBytes(StandardCharsets.UTF_8));
+        return body;
+    }
+
+    private static String read(ByteBuffer[] views) {
+        StringBuilder content = new StringBuilder();
+        for (ByteBuffer view : views) {
+            content.append(StandardCharsets.UTF_8.decode(view));
+        }
+        return content.toString();
+    }
+
+    /**
+     * Accepts at most {@code capacity} bytes per write, like a socket whose send buffer fills up.
+     */
+    private static final class Channel implements DataStreamChannel {
+        private final int capacity;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean ended;
+
+        Channel(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void requestOutput() {
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = Math.min(src.remaining(), capacity);
+            for (int i = 0; i < n; i++) {
+                out.write(src.get());
+            }
+            return n;
+        }
+
+        @Override
+        public void endStream() {
+            ended = true;
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) {
+            ended = true;
+        }
+
+        String written() {
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.processapi.rest.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+    private static final Duration LONG_WAIT = Duration.ofSeconds(30);
+
+    @Test
+    void queuesOnceThePermitsAreTakenAndRejectsOnceTheQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead("test", true, 2, 1, LONG_WAIT);
+        bulkhead.acquirePermission();
+        bulkhead.acquirePermission();
+
+        CompletableFuture<Void> queued = bulkhead.acquirePermissionAsync();
+        assertFalse(queued.isDone());
+        assertEquals(1, bulkhead.getQueueDepth());
+
+        assertRejected(bulkhead.acquirePermissionAsync());
+        assertThrows(BulkheadFullException.class, bulkhead::acquirePermission);
+        assertEquals(2, bulkhead.getRejectedCount());
+        assertEquals(2, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void releaseHandsThePermitToTheOldestWaiter() {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 2, LONG_WAIT);
+        bulkhead.acquirePermission();
+        CompletableFuture<Void> first = bulkhead.acquirePermissionAsync();
+        CompletableFuture<Void> second = bulkhead.acquirePermissionAsync();
+
+        bulkhead.releasePermission();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(1, bulkhead.getQueueDepth());
+
+        bulkhead.releasePermission();
+        assertTrue(second.isDone());
+        bulkhead.releasePermission();
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueueDepth());
+    }
+
+    @Test
+    void blockedCallerQueuedFirstIsServedBeforeALaterAsyncCaller() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 2, LONG_WAIT);
+        bulkhead.acquirePermission();
+        CountDownLatch acquired = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread blocked = Thread.startVirtualThread(() -> {
+            bulkhead.acquirePermission();
+            acquired.countDown();
+            awaitQuietly(done);
+            bulkhead.releasePermission();
+        });
+        awaitTrue(() -> bulkhead.getQueueDepth() == 1);
+        CompletableFuture<Void> async = bulkhead.acquirePermissionAsync();
+
+        bulkhead.releasePermission();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        assertFalse(async.isDone());
+
+        done.countDown();
+        blocked.join();
+        assertNull(async.join());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void asyncCallerQueuedFirstIsServedBeforeALaterBlockedCaller() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 2, LONG_WAIT);
+        bulkhead.acquirePermission();
+        CompletableFuture<Void> async = bulkhead.acquirePermissionAsync();
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread blocked = Thread.startVirtualThread(() -> {
+            bulkhead.acquirePermission();
+            acquired.countDown();
+        });
+        awaitTrue(() -> bulkhead.getQueueDepth() == 2);
+
+        bulkhead.releasePermission();
+        assertTrue(async.isDone());
+        assertFalse(acquired.await(50, TimeUnit.MILLISECONDS));
+
+        bulkhead.releasePermission();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        blocked.join();
+    }
+
+    @Test
+    void cancelledWaiterIsSkipped() {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 2, LONG_WAIT);
+        bulkhead.acquirePermission();
+        CompletableFuture<Void> cancelled = bulkhead.acquirePermissionAsync();
+        CompletableFuture<Void> next = bulkhead.acquirePermissionAsync();
+
+        cancelled.cancel(false);
+        assertEquals(1, bulkhead.getQueueDepth());
+        bulkhead.releasePermission();
+        assertTrue(next.isDone());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void asyncWaiterTimesOut() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 1, Duration.ofMillis(20));
+        bulkhead.acquirePermission();
+
+        assertRejected(bulkhead.acquirePermissionAsync());
+        awaitTrue(() -> bulkhead.getRejectedCount() == 1 && bulkhead.getQueueDepth() == 0);
+
+        bulkhead.releasePermission();
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void blockedWaiterTimesOut() {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 1, Duration.ofMillis(20));
+        bulkhead.acquirePermission();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquirePermission);
+        assertEquals(0, bulkhead.getQueueDepth());
+
+        bulkhead.releasePermission();
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void interruptedWaiterIsRejectedAndLeavesTheQueue() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 1, LONG_WAIT);
+        bulkhead.acquirePermission();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread blocked = Thread.startVirtualThread(() -> {
+            try {
+                bulkhead.acquirePermission();
+            } catch (BulkheadFullException e) {
+                failure.set(e);
+            }
+        });
+        awaitTrue(() -> bulkhead.getQueueDepth() == 1);
+
+        blocked.interrupt();
+        blocked.join();
+        assertInstanceOf(BulkheadFullException.class, failure.get());
+        assertEquals(0, bulkhead.getQueueDepth());
+
+        bulkhead.releasePermission();
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void executeReleasesThePermitWhenTheOperationFails() {
+        Bulkhead bulkhead = new Bulkhead("test", true, 1, 0, LONG_WAIT);
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(() -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals("ok", bulkhead.execute(() -> "ok"));
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void disabledBulkheadNeverQueues() {
+        Bulkhead bulkhead = new Bulkhead("test", false, 1, 0, LONG_WAIT);
+
+        bulkhead.acquirePermission();
+        bulkhead.acquirePermission();
+        assertTrue(bulkhead.acquirePermissionAsync().isDone());
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+
+    private static void assertRejected(CompletableFuture<Void> waiter) {
+        CompletionException e = assertThrows(CompletionException.class, waiter::join);
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not met within 5 s");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.processapi.rest.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedResponseTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void maxAgeSetsTheFreshnessLifetime() {
+        CachedResponse entry = store(headers("max-age=60"));
+
+        assertTrue(entry.isFresh(NOW + 59_999));
+        assertFalse(entry.isFresh(NOW + 60_000));
+    }
+
+    @Test
+    void ageReportedByTheOriginCountsAgainstFreshness() {
+        HttpHeaders headers = headers("max-age=60");
+        headers.set(HttpHeaders.AGE, "50");
+        CachedResponse entry = store(headers);
+
+        assertTrue(entry.isFresh(NOW + 9_999));
+        assertFalse(entry.isFresh(NOW + 10_000));
+        assertEquals("55", entry.toResponse(NOW + 5_000).getHeaders().getFirst(HttpHeaders.AGE));
+    }
+
+    @Test
+    void expiresIsRelativeToTheDateHeader() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.DATE, "Tue, 14 Nov 2023 22:13:20 GMT");
+        headers.set(HttpHeaders.EXPIRES, "Tue, 14 Nov 2023 22:13:50 GMT");
+        CachedResponse entry = store(headers);
+
+        assertTrue(entry.isFresh(NOW + 29_999));
+        assertFalse(entry.isFresh(NOW + 30_000));
+    }
+
+    @Test
+    void invalidExpiresIsAlreadyStale() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.EXPIRES, "0");
+
+        assertTrue(CachedResponse.isCacheable(200, new HttpHeaders(), headers));
+        assertFalse(store(headers).isFresh(NOW));
+    }
+
+    @Test
+    void staleWhileRevalidateExtendsTheServableWindow() {
+        CachedResponse entry = store(headers("max-age=10, stale-while-revalidate=20"));
+
+        assertFalse(entry.isFresh(NOW + 15_000));
+        assertTrue(entry.isStaleWhileRevalidate(NOW + 29_999));
+        assertFalse(entry.isStaleWhileRevalidate(NOW + 30_000));
+    }
+
+    @Test
+    void mustRevalidateDisablesStaleWhileRevalidate() {
+        CachedResponse entry = store(headers("max-age=10, stale-while-revalidate=20, must-revalidate"));
+
+        assertFalse(entry.isStaleWhileRevalidate(NOW + 10_000));
+    }
+
+    @Test
+    void noCacheIsStoredButNeverFresh() {
+        HttpHeaders headers = headers("no-cache");
+        headers.set(HttpHeaders.ETAG, "\"v1\"");
+
+        assertTrue(CachedResponse.isCacheable(200, new HttpHeaders(), headers));
+        assertFalse(store(headers).isFresh(NOW));
+    }
+
+    @Test
+    void responsesWithoutFreshnessOrValidatorsAreNotCacheable() {
+        assertFalse(CachedResponse.isCacheable(200, new HttpHeaders(), new HttpHeaders()));
+        assertTrue(CachedResponse.isCacheable(200, new HttpHeaders(), headers("max-age=60")));
+    }
+
+    @Test
+    void uncacheableStatusesAndDirectivesAreNotStored() {
+        assertFalse(CachedResponse.isCacheable(500, new HttpHeaders(), headers("max-age=60")));
+        assertFalse(CachedResponse.isCacheable(200, new HttpHeaders(), headers("no-store, max-age=60")));
+
+        HttpHeaders varyAll = headers("max-age=60");
+        varyAll.set(HttpHeaders.VARY, "*");
+        assertFalse(CachedResponse.isCacheable(200, new HttpHeaders(), varyAll));
+    }
+
+    @Test
+    void credentialedResponsesAreOnlyStoredWhenShareable() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.AUTHORIZATION, "Bearer alice");
+
+        assertFalse(CachedResponse.isCacheable(200, request, headers("max-age=60")));
+        assertFalse(CachedResponse.isCacheable(200, request, headers("private, max-age=60")));
+        assertTrue(CachedResponse.isCacheable(200, request, headers("public, max-age=60")));
+        assertTrue(CachedResponse.isCacheable(200, request, headers("max-age=60, s-maxage=30")));
+    }
+
+    @Test
+    void variantMatchesOnlyTheRequestHeadersItVariedOn() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.ACCEPT, "application/json");
+        HttpHeaders headers = headers("max-age=60");
+        headers.set(HttpHeaders.VARY, "Accept, Accept-Language");
+        CachedResponse entry = CachedResponse.create(request, 200, "OK", headers, body("a"), NOW);
+
+        HttpHeaders same = new HttpHeaders();
+        same.set(HttpHeaders.ACCEPT, "application/json");
+        same.set(HttpHeaders.AUTHORIZATION, "Bearer bob");
+        assertTrue(entry.matches(same));
+
+        HttpHeaders other = new HttpHeaders();
+        other.set(HttpHeaders.ACCEPT, "application/xml");
+        assertFalse(entry.matches(other));
+
+        HttpHeaders extra = new HttpHeaders();
+        extra.set(HttpHeaders.ACCEPT, "application/json");
+        extra.set("Accept-Language", "de");
+        assertFalse(entry.matches(extra));
+    }
+
+    @Test
+    void revalidationMergesHeadersAndResetsTheAge() {
+        HttpHeaders headers = headers("max-age=10");
+        headers.set(HttpHeaders.ETAG, "\"v1\"");
+        headers.set(HttpHeaders.CONTENT_LENGTH, "1");
+        CachedResponse entry = store(headers);
+
+        HttpHeaders notModified = headers("max-age=60");
+        notModified.set(HttpHeaders.CONTENT_LENGTH, "0");
+        CachedResponse refreshed = entry.revalidated(notModified, NOW + 20_000);
+
+        assertFalse(entry.isFresh(NOW + 20_000));
+        assertTrue(refreshed.isFresh(NOW + 79_999));
+        assertFalse(refreshed.isFresh(NOW + 80_000));
+        HttpHeaders served = refreshed.toResponse(NOW + 20_000).getHeaders();
+        assertEquals("1", served.getFirst(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("\"v1\"", served.getETag());
+        assertEquals("0", served.getFirst(HttpHeaders.AGE));
+    }
+
+    @Test
+    void conditionalHeadersCarryTheValidators() {
+        HttpHeaders headers = headers("no-cache");
+        headers.set(HttpHeaders.ETAG, "\"v1\"");
+        headers.set(HttpHeaders.LAST_MODIFIED, "Tue, 14 Nov 2023 22:13:20 GMT");
+        CachedResponse entry = store(headers);
+
+        HttpHeaders conditional = new HttpHeaders();
+        entry.addConditionalHeaders(conditional);
+        assertTrue(entry.hasValidators());
+        assertEquals("\"v1\"", conditional.getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Tue, 14 Nov 2023 22:13:20 GMT", conditional.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void eachResponseReadsTheBodyFromTheStart() throws Exception {
+        CachedResponse entry = store(headers("max-age=60"));
+
+        assertEquals("body", new String(entry.toResponse(NOW).getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("body", new String(entry.toResponse(NOW).getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(entry.toResponse(NOW).getHeaders().getETag());
+    }
+
+    private static CachedResponse store(HttpHeaders headers) {
+        return CachedResponse.create(new HttpHeaders(), 200, "OK", headers, body("body"), NOW);
+    }
+
+    private static HttpHeaders headers(String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return headers;
+    }
+
+    private static ByteBuffer body(String body) {
+        return ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+    }
+}
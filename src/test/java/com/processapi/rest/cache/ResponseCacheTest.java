@@ -0,0 +1,130 @@
+package com.processapi.rest.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final long WEIGHT = entry().weight();
+    // Ten entries: the window (1%) holds none of them, so each put goes straight to admission
+    // and the main region holds nine
+    private static final long MAX_SIZE = 10 * WEIGHT;
+    private static final int MAIN_ENTRIES = 9;
+
+    @Test
+    void putReplacesAndInvalidateRemoves() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 0);
+        CachedResponse first = entry();
+        CachedResponse second = entry();
+
+        cache.put("/a", first);
+        cache.put("/a", second);
+        assertEquals(1, cache.getSize());
+        assertEquals(WEIGHT, cache.getWeight());
+        assertSame(second, cache.get("/a"));
+
+        cache.invalidate("/a");
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void entryHeavierThanTheCacheIsNotStored() {
+        ResponseCache cache = new ResponseCache("test", WEIGHT - 1, 1 << 16, 0);
+
+        cache.put("/a", entry());
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void weightStaysWithinTheMaximumSize() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 0);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("/" + i);
+            cache.put("/" + i, entry());
+            assertTrue(cache.getWeight() <= MAX_SIZE);
+        }
+        assertEquals(MAIN_ENTRIES, cache.getSize());
+        assertEquals(100 - MAIN_ENTRIES, cache.getEvictionCount());
+    }
+
+    @Test
+    void candidateNoMoreFrequentThanTheVictimIsRejected() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 0);
+        fill(cache);
+
+        cache.put("/new", entry());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("/new"));
+        assertNotNull(cache.get("/cold/0"));
+    }
+
+    @Test
+    void candidateReadMoreOftenThanTheVictimIsAdmitted() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 0);
+        fill(cache);
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.get("/hot"));
+        }
+        cache.put("/hot", entry());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("/hot"));
+        assertNull(cache.get("/cold/0"));
+        assertNotNull(cache.get("/cold/1"));
+    }
+
+    @Test
+    void frequentlyReadEntrySurvivesABurstOfOneOffKeys() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 0);
+        cache.put("/reference", entry());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("/reference"));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("/once/" + i, entry());
+        }
+        assertNotNull(cache.get("/reference"));
+        assertEquals(MAIN_ENTRIES, cache.getSize());
+    }
+
+    @Test
+    void largeBodiesAreStoredOffHeap() {
+        ResponseCache cache = new ResponseCache("test", MAX_SIZE, 1 << 16, 64);
+
+        assertFalse(cache.storeBody(new byte[63]).isDirect());
+        assertTrue(cache.storeBody(new byte[64]).isDirect());
+        assertTrue(cache.storeBody(new byte[64]).isReadOnly());
+        assertFalse(new ResponseCache("test", MAX_SIZE, 1 << 16, 0).storeBody(new byte[1024]).isDirect());
+    }
+
+    /**
+     * Fills the main region with entries that were never read, {@code /cold/0} the least recently used.
+     */
+    private static void fill(ResponseCache cache) {
+        for (int i = 0; i < MAIN_ENTRIES; i++) {
+            cache.put("/cold/" + i, entry());
+        }
+        assertEquals(MAIN_ENTRIES, cache.getSize());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    private static CachedResponse entry() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, "max-age=60");
+        return CachedResponse.create(new HttpHeaders(), 200, "OK", headers, ByteBuffer.wrap(new byte[100]),
+            System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,243 @@
+package com.processapi.rest.circuitbreaker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+    private CircuitBreakerConfig config;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config = new CircuitBreakerConfig();
+        config.setSlidingWindowSize(4);
+        config.setMinimumNumberOfCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setResetTimeout(1);
+        config.setHalfOpenTimeout(60_000);
+        config.setPermittedCallsInHalfOpenState(2);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyThePermittedTrialCalls() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+        open(circuitBreaker);
+        Thread.sleep(5);
+
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        CompletableFuture<String> firstCall = circuitBreaker.executeAsync(() -> first);
+        CompletableFuture<String> secondCall = circuitBreaker.executeAsync(() -> second);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        CompletableFuture<String> rejected = circuitBreaker.executeAsync(() -> CompletableFuture.completedFuture("ok"));
+        assertRejected(rejected);
+
+        first.complete("ok");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        second.complete("ok");
+        assertEquals("ok", firstCall.join());
+        assertEquals("ok", secondCall.join());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureCount());
+    }
+
+    @Test
+    void failedTrialCallReopens() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+        open(circuitBreaker);
+        Thread.sleep(5);
+
+        assertThrows(IllegalStateException.class, () -> circuitBreaker.execute(CircuitBreakerTest::fail));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreaker.State.HALF_OPEN));
+    }
+
+    @Test
+    void trialsThatOutliveTheHalfOpenTimeoutReopen() throws InterruptedException {
+        config.setHalfOpenTimeout(50);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+        open(circuitBreaker);
+        Thread.sleep(5);
+
+        circuitBreaker.executeAsync(CompletableFuture::new);
+        circuitBreaker.executeAsync(CompletableFuture::new);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        Thread.sleep(60);
+
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void openBreakerRejectsUntilTheResetTimeout() {
+        config.setResetTimeout(60_000);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+        open(circuitBreaker);
+
+        assertFalse(circuitBreaker.isCallPermitted());
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.execute(() -> "ok"));
+        assertRejected(circuitBreaker.executeAsync(() -> CompletableFuture.completedFuture("ok")));
+    }
+
+    @Test
+    void probingBreakerWaitsForTheHealthCheckRatherThanTheResetTimeout() throws InterruptedException {
+        config.setHealthCheckInterval(5);
+        AtomicBoolean healthy = new AtomicBoolean(false);
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, () -> {
+            probes.incrementAndGet();
+            return healthy.get();
+        }, scheduler);
+        open(circuitBreaker);
+
+        awaitTrue(() -> probes.get() >= 3);
+        assertFalse(circuitBreaker.isCallPermitted());
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        healthy.set(true);
+        awaitTrue(() -> circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN);
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        circuitBreaker.shutdown();
+    }
+
+    @Test
+    void failingHealthCheckKeepsTheBreakerOpen() throws InterruptedException {
+        config.setHealthCheckInterval(5);
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, () -> {
+            probes.incrementAndGet();
+            throw new IllegalStateException("down");
+        }, scheduler);
+        open(circuitBreaker);
+
+        awaitTrue(() -> probes.get() >= 3);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        circuitBreaker.shutdown();
+    }
+
+    @Test
+    void shutdownStopsProbing() throws InterruptedException {
+        config.setHealthCheckInterval(5);
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, () -> {
+            probes.incrementAndGet();
+            return false;
+        }, scheduler);
+        open(circuitBreaker);
+        awaitTrue(() -> probes.get() >= 2);
+
+        circuitBreaker.shutdown();
+        Thread.sleep(20);
+        int stopped = probes.get();
+        Thread.sleep(50);
+        assertEquals(stopped, probes.get());
+    }
+
+    @Test
+    void cancelledCallsAreNotFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+        for (int i = 0; i < 8; i++) {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            circuitBreaker.executeAsync(() -> call);
+            call.cancel(false);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureCount());
+    }
+
+    @Test
+    void streamedCallIsTimedUntilItsResponseArrives() {
+        config.setSlowCallDurationThreshold(20);
+        config.setSlowCallRateThreshold(50);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("ok", circuitBreaker.executeStreaming(responded -> {
+                responded.run();
+                sleep(30);
+                return "ok";
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void slowStreamedResponseIsASlowCall() {
+        config.setSlowCallDurationThreshold(20);
+        config.setSlowCallRateThreshold(50);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", config, null);
+
+        for (int i = 0; i < 2; i++) {
+            circuitBreaker.executeStreaming(responded -> {
+                sleep(30);
+                responded.run();
+                return "ok";
+            });
+            circuitBreaker.executeStreaming(responded -> {
+                sleep(30);
+                return "ok";
+            });
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String fail() {
+        throw new IllegalStateException("failed");
+    }
+
+    static void open(CircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.execute(CircuitBreakerTest::fail));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static void assertRejected(CompletableFuture<?> call) {
+        CompletionException e = assertThrows(CompletionException.class, call::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not met within 5 s");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.processapi.rest.circuitbreaker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountBasedSlidingWindowTest {
+
+    @Test
+    void countsCallsUntilTheWindowIsFull() {
+        CountBasedSlidingWindow window = new CountBasedSlidingWindow(4);
+        window.record(true, false);
+        window.record(false, true);
+        window.record(false, false);
+
+        assertEquals(new SlidingWindow.Snapshot(3, 1, 1), window.snapshot());
+    }
+
+    @Test
+    void newCallsOverwriteTheOldest() {
+        CountBasedSlidingWindow window = new CountBasedSlidingWindow(3);
+        window.record(true, true);
+        window.record(true, false);
+        window.record(false, false);
+
+        window.record(false, false);
+        assertEquals(new SlidingWindow.Snapshot(3, 1, 0), window.snapshot());
+        window.record(false, true);
+        assertEquals(new SlidingWindow.Snapshot(3, 0, 1), window.snapshot());
+        window.record(true, true);
+        assertEquals(new SlidingWindow.Snapshot(3, 1, 2), window.snapshot());
+    }
+
+    @Test
+    void overwritingWithTheSameOutcomeKeepsTheTotals() {
+        CountBasedSlidingWindow window = new CountBasedSlidingWindow(2);
+        for (int i = 0; i < 10; i++) {
+            window.record(true, true);
+        }
+
+        assertEquals(new SlidingWindow.Snapshot(2, 2, 2), window.snapshot());
+        assertEquals(100f, window.snapshot().failureRate());
+        assertEquals(100f, window.snapshot().slowCallRate());
+    }
+
+    @Test
+    void resetEmptiesTheWindow() {
+        CountBasedSlidingWindow window = new CountBasedSlidingWindow(2);
+        window.record(true, false);
+        window.record(true, true);
+
+        window.reset();
+        assertEquals(new SlidingWindow.Snapshot(0, 0, 0), window.snapshot());
+        assertEquals(0f, window.snapshot().failureRate());
+
+        window.record(false, false);
+        window.record(true, false);
+        window.record(false, false);
+        assertEquals(new SlidingWindow.Snapshot(2, 1, 0), window.snapshot());
+    }
+}
@@ -0,0 +1,88 @@
+package com.processapi.rest.circuitbreaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeBasedSlidingWindowTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void countsCallsWithinTheWindow() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, now::get);
+        window.record(false, false);
+        window.record(true, false);
+        now.addAndGet(SECOND);
+        window.record(false, true);
+        window.record(true, true);
+
+        assertEquals(new SlidingWindow.Snapshot(4, 2, 2), window.snapshot());
+        assertEquals(50f, window.snapshot().failureRate());
+    }
+
+    @Test
+    void secondsOlderThanTheWindowDropOut() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, now::get);
+        window.record(true, false);
+        now.addAndGet(SECOND);
+        window.record(false, false);
+
+        now.addAndGet(2 * SECOND);
+        assertEquals(new SlidingWindow.Snapshot(1, 0, 0), window.snapshot());
+        now.addAndGet(SECOND);
+        assertEquals(new SlidingWindow.Snapshot(0, 0, 0), window.snapshot());
+    }
+
+    @Test
+    void reusedBucketStartsEmpty() {
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, now::get);
+        window.record(true, true);
+
+        now.addAndGet(3 * SECOND);
+        window.record(false, false);
+        assertEquals(new SlidingWindow.Snapshot(1, 0, 0), window.snapshot());
+    }
+
+    @Test
+    void negativeClockReadingsUseValidBuckets() {
+        now.set(-5 * SECOND - 1);
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, now::get);
+        for (int i = 0; i < 6; i++) {
+            window.record(i % 2 == 0, false);
+            now.addAndGet(SECOND);
+        }
+
+        now.addAndGet(-SECOND);
+        assertEquals(new SlidingWindow.Snapshot(3, 1, 0), window.snapshot());
+    }
+
+    @Test
+    void secondsAroundZeroAreDistinct() {
+        now.set(-SECOND / 2);
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(1, now::get);
+        window.record(true, false);
+
+        now.set(SECOND / 2);
+        window.record(false, false);
+        assertEquals(new SlidingWindow.Snapshot(1, 0, 0), window.snapshot());
+    }
+
+    @Test
+    void resetClearsEveryBucket() {
+        now.set(-SECOND);
+        TimeBasedSlidingWindow window = new TimeBasedSlidingWindow(3, now::get);
+        window.record(true, true);
+        now.addAndGet(SECOND);
+        window.record(true, false);
+
+        window.reset();
+        assertEquals(new SlidingWindow.Snapshot(0, 0, 0), window.snapshot());
+        window.record(false, false);
+        assertEquals(new SlidingWindow.Snapshot(1, 0, 0), window.snapshot());
+    }
+}
@@ -0,0 +1,225 @@
+package com.processapi.rest.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecodingInputStreamTest {
+    private final Compression compression = new Compression("test", null, 0, 6, 1);
+
+    @Test
+    void gzipBodyLargerThanTheBufferIsInflated() throws IOException {
+        byte[] payload = payload(20 * CodecPool.BUFFER_SIZE);
+
+        assertArrayEquals(payload, decode("gzip", gzip(payload)));
+    }
+
+    @Test
+    void trailerIsReadWhereverTheReadsSplitIt() throws IOException {
+        byte[] payload = payload(1000);
+        byte[] encoded = gzip(payload);
+
+        for (int chunk = 1; chunk <= 24; chunk++) {
+            try (InputStream in = compression.decode("gzip", new ChunkedInputStream(encoded, chunk))) {
+                assertArrayEquals(payload, in.readAllBytes(), "chunk size " + chunk);
+            }
+        }
+    }
+
+    @Test
+    void emptyGzipBodyIsEmpty() throws IOException {
+        assertArrayEquals(new byte[0], decode("gzip", gzip(new byte[0])));
+    }
+
+    @Test
+    void optionalHeaderFieldsAreSkipped() throws IOException {
+        byte[] payload = payload(100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[] {0x1f, (byte) 0x8b, 8, 2 | 4 | 8 | 16, 0, 0, 0, 0, 0, (byte) 0xff});
+        out.write(new byte[] {3, 0, 'x', 'y', 'z'});
+        out.write("name\0".getBytes());
+        out.write("comment\0".getBytes());
+        out.write(new byte[] {0x12, 0x34});
+        out.write(rawDeflate(payload));
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, payload.length);
+
+        assertArrayEquals(payload, decode("gzip", out.toByteArray()));
+    }
+
+    @Test
+    void crcMismatchIsRejected() throws IOException {
+        byte[] encoded = gzip(payload(1000));
+        encoded[encoded.length - 8] ^= 1;
+
+        ZipException e = assertThrows(ZipException.class, () -> decode("gzip", encoded));
+        assertTrue(e.getMessage().contains("CRC mismatch"));
+    }
+
+    @Test
+    void sizeMismatchIsRejected() throws IOException {
+        byte[] encoded = gzip(payload(1000));
+        encoded[encoded.length - 4] ^= 1;
+
+        ZipException e = assertThrows(ZipException.class, () -> decode("gzip", encoded));
+        assertTrue(e.getMessage().contains("size mismatch"));
+    }
+
+    @Test
+    void truncatedTrailerIsRejected() throws IOException {
+        byte[] encoded = gzip(payload(1000));
+
+        assertThrows(EOFException.class, () -> decode("gzip", Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(EOFException.class, () -> decode("gzip", Arrays.copyOf(encoded, encoded.length - 8)));
+    }
+
+    @Test
+    void truncatedDataIsRejected() throws IOException {
+        byte[] encoded = gzip(payload(1000));
+
+        assertThrows(EOFException.class, () -> decode("gzip", Arrays.copyOf(encoded, encoded.length / 2)));
+    }
+
+    @Test
+    void bodyThatIsNotGzipIsRejected() {
+        assertThrows(ZipException.class, () -> decode("gzip", "plain text".getBytes()));
+    }
+
+    @Test
+    void onlyTheFirstMemberIsRead() throws IOException {
+        byte[] first = payload(100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(gzip(first));
+        out.write(gzip(payload(50)));
+
+        assertArrayEquals(first, decode("gzip", out.toByteArray()));
+    }
+
+    @Test
+    void deflateBodyIsInflated() throws IOException {
+        byte[] payload = payload(5000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(payload);
+        }
+
+        assertArrayEquals(payload, decode("deflate", out.toByteArray()));
+    }
+
+    @Test
+    void closeCountsTheBytesOnceAndClosesTheBody() throws IOException {
+        byte[] payload = payload(5000);
+        ChunkedInputStream body = new ChunkedInputStream(gzip(payload), 100);
+        InputStream in = compression.decode("gzip", body);
+        in.readAllBytes();
+
+        in.close();
+        in.close();
+        assertTrue(body.closed);
+        assertEquals(payload.length, compression.getResponseBytes());
+        assertTrue(compression.getResponseEncodedBytes() > 0);
+        assertTrue(compression.getResponseBytesSaved() > 0);
+        assertThrows(IOException.class, in::read);
+    }
+
+    @Test
+    void pooledInflaterIsResetForTheNextBody() throws IOException {
+        byte[] corrupt = gzip(payload(1000));
+        corrupt[corrupt.length - 8] ^= 1;
+        assertThrows(ZipException.class, () -> decode("gzip", corrupt));
+
+        byte[] payload = payload(2000);
+        assertArrayEquals(payload, decode("gzip", gzip(payload)));
+        assertArrayEquals(payload, decode("gzip", gzip(payload)));
+    }
+
+    @Test
+    void unsupportedCodingIsPassedThrough() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+
+        assertSame(body, compression.decode("br", body));
+        assertSame(body, compression.decode(null, body));
+    }
+
+    private byte[] decode(String coding, byte[] encoded) throws IOException {
+        try (InputStream in = compression.decode(coding, new ByteArrayInputStream(encoded))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] payload(int size) {
+        byte[] payload = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return payload;
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] rawDeflate(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(6, true))) {
+            deflater.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    /**
+     * Returns at most {@code chunk} bytes per read, as a network stream might.
+     */
+    private static final class ChunkedInputStream extends FilterInputStream {
+        private final int chunk;
+        boolean closed;
+
+        ChunkedInputStream(byte[] bytes, int chunk) {
+            super(new ByteArrayInputStream(bytes));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunk));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
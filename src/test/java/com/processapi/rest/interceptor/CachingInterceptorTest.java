@@ -0,0 +1,254 @@
+package com.processapi.rest.interceptor;
+
+import com.processapi.rest.cache.ResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingInterceptorTest {
+    private static final URI URL = URI.create("http://localhost/orders/42");
+
+    private ResponseCache cache;
+    private CachingInterceptor interceptor;
+    private Origin origin;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache("test", 1 << 20, 16, 0);
+        interceptor = new CachingInterceptor(cache, () -> true);
+        origin = new Origin();
+    }
+
+    @Test
+    void freshResponseIsServedWithoutACall() throws IOException {
+        origin.respond(200, "v1", "max-age=60");
+
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(1, origin.requests.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void staleEntryIsRevalidatedAndRefreshedOnNotModified() throws IOException {
+        origin.respond(200, "v1", "max-age=0").getHeaders().setETag("\"v1\"");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        origin.respond(304, "", "max-age=60");
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URL);
+        assertEquals("v1", get(request));
+        assertEquals("\"v1\"", origin.requests.get(1).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertNull(request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, cache.getRevalidatedCount());
+
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(2, origin.requests.size());
+    }
+
+    @Test
+    void changedResponseReplacesTheStaleEntry() throws IOException {
+        origin.respond(200, "v1", "max-age=0").getHeaders().setETag("\"v1\"");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        origin.respond(200, "v2", "max-age=60").getHeaders().setETag("\"v2\"");
+        assertEquals("v2", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals("v2", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(2, origin.requests.size());
+    }
+
+    @Test
+    void requestNoCacheGoesToTheOrigin() throws IOException {
+        origin.respond(200, "v1", "max-age=60");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URL);
+        request.getHeaders().setCacheControl("no-cache");
+        get(request);
+        assertEquals(2, origin.requests.size());
+    }
+
+    @Test
+    void responseToACredentialedRequestIsNotStored() throws IOException {
+        origin.respond(200, "alice", "max-age=60");
+        assertEquals("alice", get(withAuthorization("Bearer alice")));
+
+        origin.respond(200, "bob", "max-age=60");
+        assertEquals("bob", get(withAuthorization("Bearer bob")));
+        assertEquals(2, origin.requests.size());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void publicResponseToACredentialedRequestIsShared() throws IOException {
+        origin.respond(200, "shared", "public, max-age=60");
+
+        assertEquals("shared", get(withAuthorization("Bearer alice")));
+        assertEquals("shared", get(withAuthorization("Bearer bob")));
+        assertEquals(1, origin.requests.size());
+    }
+
+    @Test
+    void differentVariantIsAMiss() throws IOException {
+        origin.respond(200, "json", "max-age=60").getHeaders().set(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        MockClientHttpRequest json = new MockClientHttpRequest(HttpMethod.GET, URL);
+        json.getHeaders().set(HttpHeaders.ACCEPT, "application/json");
+        get(json);
+
+        origin.respond(200, "xml", "max-age=60");
+        MockClientHttpRequest xml = new MockClientHttpRequest(HttpMethod.GET, URL);
+        xml.getHeaders().set(HttpHeaders.ACCEPT, "application/xml");
+        assertEquals("xml", get(xml));
+        assertEquals(2, origin.requests.size());
+    }
+
+    @Test
+    void successfulUnsafeRequestInvalidatesTheEntry() throws IOException {
+        origin.respond(200, "v1", "max-age=60");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        origin.respond(500, "", "no-store");
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, URL), new byte[0], origin).close();
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+
+        origin.respond(204, "", "no-store");
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, URL), new byte[0], origin).close();
+        origin.respond(200, "v2", "max-age=60");
+        assertEquals("v2", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+    }
+
+    @Test
+    void oversizedBodyIsPassedThroughWhole() throws IOException {
+        origin.respond(200, "a body longer than sixteen bytes", "max-age=60");
+
+        assertEquals("a body longer than sixteen bytes", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void staleWhileRevalidateServesTheStaleEntryAndRevalidatesOnce() throws Exception {
+        origin.respond(200, "v1", "max-age=0, stale-while-revalidate=60").getHeaders().setETag("\"v1\"");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        CountDownLatch revalidating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        origin.block(revalidating, release);
+        origin.respond(200, "v2", "max-age=60");
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertTrue(revalidating.await(5, TimeUnit.SECONDS));
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(2, origin.requests.size());
+        assertEquals(2, cache.getStaleHitCount());
+
+        release.countDown();
+        awaitRevalidation();
+        assertEquals("v2", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(2, origin.requests.size());
+    }
+
+    @Test
+    void revalidationIsSkippedWhileNotPermitted() throws Exception {
+        AtomicBoolean permitted = new AtomicBoolean(false);
+        interceptor = new CachingInterceptor(cache, permitted::get);
+        origin.respond(200, "v1", "max-age=0, stale-while-revalidate=60").getHeaders().setETag("\"v1\"");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals("v1", get(new MockClientHttpRequest(HttpMethod.GET, URL)));
+        assertEquals(1, origin.requests.size());
+        assertEquals(2, cache.getStaleHitCount());
+
+        permitted.set(true);
+        origin.respond(304, "", "max-age=60");
+        get(new MockClientHttpRequest(HttpMethod.GET, URL));
+        awaitRevalidation();
+        assertEquals(2, origin.requests.size());
+    }
+
+    /**
+     * Waits until the entry has been refreshed, reading it without counting a stale hit.
+     */
+    private void awaitRevalidation() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!cache.get(URL.toString()).isFresh(System.currentTimeMillis())) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("entry not revalidated within 5 s");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private String get(HttpRequest request) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(request, new byte[0], origin)) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static MockClientHttpRequest withAuthorization(String authorization) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URL);
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    /**
+     * Answers every request with the response set last and records the requests it saw.
+     */
+    private static final class Origin implements ClientHttpRequestExecution {
+        final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+        private volatile MockClientHttpResponse response;
+        private volatile CountDownLatch started;
+        private volatile CountDownLatch release;
+
+        MockClientHttpResponse respond(int status, String body, String cacheControl) {
+            response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+            response.getHeaders().setCacheControl(cacheControl);
+            return response;
+        }
+
+        /**
+         * Makes the next request signal {@code started} and wait for {@code release}.
+         */
+        void block(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            requests.add(request);
+            MockClientHttpResponse current = response;
+            CountDownLatch gate = release;
+            if (gate != null) {
+                release = null;
+                started.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return current;
+        }
+    }
+}
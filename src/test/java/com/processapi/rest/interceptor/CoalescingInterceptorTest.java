@@ -0,0 +1,240 @@
+package com.processapi.rest.interceptor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingInterceptorTest {
+    private static final URI URL = URI.create("http://localhost/orders/42");
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private CoalescingInterceptor interceptor;
+    private Origin origin;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new CoalescingInterceptor(List.of(HttpHeaders.AUTHORIZATION), 16);
+        origin = new Origin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentGetsShareOneCall() throws Exception {
+        CountDownLatch release = origin.blockFirstCall();
+        Future<String> leader = executor.submit(() -> get(request("Bearer alice")));
+        awaitTrue(() -> origin.calls.get() == 1);
+        Future<String> first = executor.submit(() -> get(request("Bearer alice")));
+        Future<String> second = executor.submit(() -> get(request("Bearer alice")));
+        awaitTrue(() -> interceptor.getCoalescedCount() == 2);
+
+        release.countDown();
+        assertEquals("body", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("body", first.get(5, TimeUnit.SECONDS));
+        assertEquals("body", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, origin.calls.get());
+        assertEquals(0, interceptor.getInFlightCount());
+    }
+
+    @Test
+    void followersGetIndependentCopiesOfTheResponse() throws Exception {
+        CountDownLatch release = origin.blockFirstCall();
+        Future<ClientHttpResponse> leader = executor.submit(() -> interceptor.intercept(request(null), new byte[0], origin));
+        awaitTrue(() -> origin.calls.get() == 1);
+        Future<ClientHttpResponse> follower = executor.submit(() -> interceptor.intercept(request(null), new byte[0], origin));
+        awaitTrue(() -> interceptor.getCoalescedCount() == 1);
+        release.countDown();
+
+        ClientHttpResponse leaderResponse = leader.get(5, TimeUnit.SECONDS);
+        ClientHttpResponse followerResponse = follower.get(5, TimeUnit.SECONDS);
+        leaderResponse.getHeaders().set("X-Test", "changed");
+        assertEquals("body", new String(leaderResponse.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("body", new String(followerResponse.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("origin", followerResponse.getHeaders().getFirst("X-Test"));
+        assertEquals(200, followerResponse.getStatusCode().value());
+    }
+
+    @Test
+    void differentVaryHeaderValuesAreNotCoalesced() throws Exception {
+        CountDownLatch release = origin.blockFirstCall();
+        Future<String> alice = executor.submit(() -> get(request("Bearer alice")));
+        awaitTrue(() -> origin.calls.get() == 1);
+
+        assertEquals("body", get(request("Bearer bob")));
+        assertEquals(2, origin.calls.get());
+        assertEquals(0, interceptor.getCoalescedCount());
+
+        release.countDown();
+        assertEquals("body", alice.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unsafeRequestsAreNotCoalesced() throws Exception {
+        CountDownLatch release = origin.blockFirstCall();
+        Future<String> first = executor.submit(() -> get(new MockClientHttpRequest(HttpMethod.POST, URL)));
+        awaitTrue(() -> origin.calls.get() == 1);
+
+        assertEquals("body", get(new MockClientHttpRequest(HttpMethod.POST, URL)));
+        assertEquals(0, interceptor.getInFlightCount());
+
+        release.countDown();
+        assertEquals("body", first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, origin.calls.get());
+    }
+
+    @Test
+    void completedCallIsNotReused() throws IOException {
+        get(request(null));
+        origin.body = "changed";
+
+        assertEquals("changed", get(request(null)));
+        assertEquals(2, origin.calls.get());
+        assertEquals(0, interceptor.getCoalescedCount());
+    }
+
+    @Test
+    void oversizedBodyGoesWholeToTheLeaderAndFollowersCallThemselves() throws Exception {
+        origin.body = "a body longer than sixteen bytes";
+        CountDownLatch release = origin.blockFirstCall();
+        Future<String> leader = executor.submit(() -> get(request(null)));
+        awaitTrue(() -> origin.calls.get() == 1);
+        Future<String> follower = executor.submit(() -> get(request(null)));
+        awaitTrue(() -> interceptor.getCoalescedCount() == 1);
+
+        release.countDown();
+        assertEquals("a body longer than sixteen bytes", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("a body longer than sixteen bytes", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, origin.calls.get());
+    }
+
+    @Test
+    void declaredOversizedBodyIsReturnedUnread() throws IOException {
+        origin.body = "a body longer than sixteen bytes";
+        origin.contentLength = true;
+
+        ClientHttpResponse response = interceptor.intercept(request(null), new byte[0], origin);
+        assertSame(origin.last.get(), response);
+        assertEquals(0, interceptor.getInFlightCount());
+    }
+
+    @Test
+    void leaderFailureReachesTheFollowers() throws Exception {
+        origin.failure = new IOException("connection reset");
+        CountDownLatch release = origin.blockFirstCall();
+        Future<String> leader = executor.submit(() -> get(request(null)));
+        awaitTrue(() -> origin.calls.get() == 1);
+        Future<String> follower = executor.submit(() -> get(request(null)));
+        awaitTrue(() -> interceptor.getCoalescedCount() == 1);
+
+        release.countDown();
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertSame(origin.failure, leaderFailure.getCause());
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        IOException io = assertInstanceOf(IOException.class, followerFailure.getCause());
+        assertSame(origin.failure, io.getCause());
+        assertEquals(1, origin.calls.get());
+        assertEquals(0, interceptor.getInFlightCount());
+
+        origin.failure = null;
+        assertEquals("body", get(request(null)));
+    }
+
+    private String get(HttpRequest request) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(request, new byte[0], origin)) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static MockClientHttpRequest request(String authorization) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URL);
+        if (authorization != null) {
+            request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not met within 5 s");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Counts calls and answers each with {@code body}, or throws {@code failure} when set. The
+     * call after {@link #blockFirstCall} waits for the returned latch before answering.
+     */
+    private static final class Origin implements ClientHttpRequestExecution {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicReference<ClientHttpResponse> last = new AtomicReference<>();
+        private final AtomicReference<CountDownLatch> release = new AtomicReference<>();
+        volatile String body = "body";
+        volatile boolean contentLength;
+        volatile IOException failure;
+
+        CountDownLatch blockFirstCall() {
+            CountDownLatch latch = new CountDownLatch(1);
+            release.set(latch);
+            return latch;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] requestBody) throws IOException {
+            calls.incrementAndGet();
+            CountDownLatch gate = release.getAndSet(null);
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            MockClientHttpResponse response = new MockClientHttpResponse(bytes, 200);
+            response.getHeaders().set("X-Test", "origin");
+            if (contentLength) {
+                response.getHeaders().setContentLength(bytes.length);
+            }
+            last.set(response);
+            return response;
+        }
+    }
+}
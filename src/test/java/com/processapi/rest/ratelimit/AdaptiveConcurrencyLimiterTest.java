@@ -0,0 +1,159 @@
+package com.processapi.rest.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final String CLIENT = "test";
+
+    private AdaptiveLimiterConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new AdaptiveLimiterConfig();
+        config.setEnabled(true);
+        config.setAlgorithm(AdaptiveLimiterConfig.Algorithm.AIMD);
+        config.setBackoffRatio(0.5);
+        config.setInitialLimit(10);
+        config.setMinLimit(1);
+        config.setMaxLimit(100);
+    }
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 10);
+
+        ConcurrencyLimitExceededException e = assertThrows(ConcurrencyLimitExceededException.class,
+            () -> limiter.acquire(CLIENT));
+        assertEquals(10, e.getLimit());
+
+        permits.get(0).onIgnore();
+        assertEquals(9, limiter.getInFlight(CLIENT));
+        limiter.acquire(CLIENT);
+        assertEquals(10, limiter.getInFlight(CLIENT));
+    }
+
+    @Test
+    void disabledLimiterNeverRejects() {
+        config.setEnabled(false);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        acquire(limiter, 1000);
+        assertEquals(0, limiter.getInFlight(CLIENT));
+        assertEquals(10, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void ignoredPermitReleasesTheSlotWithoutMovingTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 10);
+
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onIgnore);
+        assertEquals(0, limiter.getInFlight(CLIENT));
+        assertEquals(10, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void successGrowsTheLimitWhileItIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 5);
+
+        permits.get(4).onSuccess();
+        assertEquals(11, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void successBelowHalfUtilisationKeepsTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 4);
+
+        permits.get(3).onSuccess();
+        assertEquals(10, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void dropBacksOffTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        limiter.acquire(CLIENT).onDropped();
+        assertEquals(5, limiter.getLimit(CLIENT));
+        assertEquals(0, limiter.getInFlight(CLIENT));
+    }
+
+    @Test
+    void successStartedBeforeABackoffDoesNotUndoIt() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 8);
+
+        permits.get(0).onDropped();
+        assertEquals(5, limiter.getLimit(CLIENT));
+
+        permits.get(7).onSuccess();
+        assertEquals(5, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void dropsStartedBeforeABackoffDoNotCutAgain() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 8);
+
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onDropped);
+        assertEquals(5, limiter.getLimit(CLIENT));
+        assertEquals(0, limiter.getInFlight(CLIENT));
+    }
+
+    @Test
+    void sustainedOverloadKeepsBackingOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        for (int round = 0; round < 3; round++) {
+            int limit = limiter.getLimit(CLIENT);
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, limit);
+            permits.get(0).onDropped();
+            permits.subList(1, permits.size()).forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+        }
+        assertEquals(1, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void growsFromTheCurrentLimitAfterABackoff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        limiter.acquire(CLIENT).onDropped();
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 3);
+        permits.get(2).onSuccess();
+        assertEquals(6, limiter.getLimit(CLIENT));
+    }
+
+    @Test
+    void limitStaysWithinTheConfiguredBounds() {
+        config.setMinLimit(4);
+        config.setMaxLimit(11);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        for (int i = 0; i < 5; i++) {
+            acquire(limiter, limiter.getLimit(CLIENT)).forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+        }
+        assertEquals(11, limiter.getLimit(CLIENT));
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(CLIENT).onDropped();
+        }
+        assertEquals(4, limiter.getLimit(CLIENT));
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(CLIENT));
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,145 @@
+package com.processapi.rest.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+    private static final String CLIENT = "test";
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+    private RateLimiterConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimiterConfig();
+        config.setPermitsPerSecond(10);
+        config.setMaxBurstSeconds(1);
+    }
+
+    @Test
+    void fullBucketAdmitsTheBurstThenRejects() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        assertEquals(10, limiter.getAvailablePermits(CLIENT));
+
+        drain(limiter);
+        RateLimitException e = assertThrows(RateLimitException.class, () -> limiter.checkRateLimit(CLIENT));
+        assertEquals(CLIENT, e.getClientName());
+        assertEquals(10, e.getPermitsPerSecond());
+        assertEquals(1, limiter.getRejectedCount(CLIENT));
+        assertEquals(0, limiter.getAvailablePermits(CLIENT));
+    }
+
+    @Test
+    void permitsRefillContinuously() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        drain(limiter);
+
+        now.addAndGet(INTERVAL - 1);
+        assertEquals(0, limiter.getAvailablePermits(CLIENT));
+        now.addAndGet(1);
+        assertEquals(1, limiter.getAvailablePermits(CLIENT));
+        now.addAndGet(INTERVAL + INTERVAL / 2);
+        assertEquals(2, limiter.getAvailablePermits(CLIENT));
+
+        limiter.checkRateLimit(CLIENT, 2);
+        assertThrows(RateLimitException.class, () -> limiter.checkRateLimit(CLIENT));
+    }
+
+    @Test
+    void idleBucketFillsOnlyToItsCapacity() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        drain(limiter);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(10, limiter.getAvailablePermits(CLIENT));
+        drain(limiter);
+        assertThrows(RateLimitException.class, () -> limiter.checkRateLimit(CLIENT));
+    }
+
+    @Test
+    void weightedRequestIsAdmittedOnlyWhenAllItsPermitsAreAvailable() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        limiter.checkRateLimit(CLIENT, 4);
+        limiter.checkRateLimit(CLIENT, 4);
+
+        assertThrows(RateLimitException.class, () -> limiter.checkRateLimit(CLIENT, 4));
+        assertEquals(2, limiter.getAvailablePermits(CLIENT));
+        limiter.checkRateLimit(CLIENT, 2);
+        assertEquals(0, limiter.getAvailablePermits(CLIENT));
+    }
+
+    @Test
+    void reserveReturnsTheWaitBeyondTheBurst() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+
+        assertEquals(Duration.ZERO, limiter.reserve(CLIENT, 10));
+        assertEquals(Duration.ofMillis(100), limiter.reserve(CLIENT, 1));
+        assertEquals(Duration.ofMillis(300), limiter.reserve(CLIENT, 2));
+        assertEquals(0, limiter.getRejectedCount(CLIENT));
+
+        now.addAndGet(3 * INTERVAL);
+        assertEquals(0, limiter.getAvailablePermits(CLIENT));
+        assertEquals(Duration.ofMillis(100), limiter.reserve(CLIENT, 1));
+    }
+
+    @Test
+    void acquireRejectsAtOnceWhenThePermitIsFurtherAwayThanTheTimeout() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        drain(limiter);
+
+        assertThrows(RateLimitException.class, () -> limiter.acquire(CLIENT, Duration.ofMillis(99)));
+        assertEquals(1, limiter.getRejectedCount(CLIENT));
+
+        now.addAndGet(INTERVAL);
+        limiter.checkRateLimit(CLIENT);
+    }
+
+    @Test
+    void acquireWaitsForAPermitWithinTheTimeout() {
+        config.setPermitsPerSecond(1000);
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        assertEquals(Duration.ZERO, limiter.reserve(CLIENT, 1000));
+
+        limiter.acquire(CLIENT, Duration.ofSeconds(5));
+        assertEquals(0, limiter.getRejectedCount(CLIENT));
+        assertEquals(Duration.ofMillis(2), limiter.reserve(CLIENT, 1));
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        RateLimiter limiter = new RateLimiter(config, now::get);
+        drain(limiter);
+
+        limiter.checkRateLimit("other");
+        assertEquals(9, limiter.getAvailablePermits("other"));
+        assertEquals(0, limiter.getRejectedCount("other"));
+    }
+
+    @Test
+    void disabledLimiterNeverRejects() {
+        config.setEnabled(false);
+        RateLimiter limiter = new RateLimiter(config, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.checkRateLimit(CLIENT);
+            limiter.acquire(CLIENT, Duration.ZERO);
+        }
+        assertEquals(Duration.ZERO, limiter.reserve(CLIENT, 100));
+        assertEquals(10, limiter.getAvailablePermits(CLIENT));
+        assertEquals(0, limiter.getRejectedCount(CLIENT));
+    }
+
+    private static void drain(RateLimiter limiter) {
+        for (int i = 0; i < 10; i++) {
+            limiter.checkRateLimit(CLIENT);
+        }
+    }
+}
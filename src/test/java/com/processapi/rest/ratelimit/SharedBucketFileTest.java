@@ -0,0 +1,98 @@
+package com.processapi.rest.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedBucketFileTest {
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("rate-limit", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void newSlotStartsAtZero() throws IOException {
+        SharedBucketFile file = new SharedBucketFile(path, 16);
+
+        assertEquals(0, file.state("test").get());
+        assertEquals(16 * 16, Files.size(path));
+    }
+
+    @Test
+    void stateIsSharedBetweenMappingsOfTheSameFile() throws IOException {
+        SharedBucketFile first = new SharedBucketFile(path, 16);
+        SharedBucketFile second = new SharedBucketFile(path, 16);
+
+        assertTrue(first.state("test").compareAndSet(0, 42));
+        assertEquals(42, second.state("test").get());
+        assertTrue(second.state("test").compareAndSet(42, 43));
+        assertEquals(43, first.state("test").get());
+    }
+
+    @Test
+    void compareAndSetFailsOnAStaleValue() throws IOException {
+        RateLimiter.BucketState state = new SharedBucketFile(path, 16).state("test");
+        state.compareAndSet(0, 42);
+
+        assertFalse(state.compareAndSet(0, 7));
+        assertEquals(42, state.get());
+    }
+
+    @Test
+    void clientsClaimSeparateSlots() throws IOException {
+        SharedBucketFile file = new SharedBucketFile(path, 2);
+        file.state("a").compareAndSet(0, 1);
+        file.state("b").compareAndSet(0, 2);
+
+        assertEquals(1, file.state("a").get());
+        assertEquals(2, new SharedBucketFile(path, 2).state("b").get());
+    }
+
+    @Test
+    void fullTableRejectsANewClient() throws IOException {
+        SharedBucketFile file = new SharedBucketFile(path, 2);
+        file.state("a");
+        file.state("b");
+
+        assertThrows(IllegalStateException.class, () -> file.state("c"));
+        file.state("a");
+    }
+
+    @Test
+    void limitersMappingTheSameFileDrawFromOneQuota() {
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setPermitsPerSecond(10);
+        config.setMaxBurstSeconds(1);
+        config.setSharedFile(path.toString());
+        AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+        RateLimiter first = new RateLimiter(config, now::get);
+        RateLimiter second = new RateLimiter(config, now::get);
+
+        first.checkRateLimit("test", 6);
+        second.checkRateLimit("test", 4);
+        assertThrows(RateLimitException.class, () -> second.checkRateLimit("test"));
+        assertEquals(0, first.getAvailablePermits("test"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        first.checkRateLimit("test");
+        assertThrows(RateLimitException.class, () -> second.checkRateLimit("test"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.processapi.rest.timeout;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void bucketsCoverEveryValueWithinTheirRelativeError() {
+        int previous = -1;
+        for (long value = 0; value < 1 << 20; value += 1 + value / 64) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueIn(index);
+
+            assertTrue(index >= previous, "index of " + value + " went down");
+            assertTrue(highest >= value, "bucket of " + value + " ends at " + highest);
+            assertTrue(highest - value <= Math.max(1, value / 16), "bucket of " + value + " ends at " + highest);
+            previous = index;
+        }
+    }
+
+    @Test
+    void exactBelowThirtyTwoMicroseconds() {
+        for (long value = 0; value < 32; value++) {
+            assertEquals(value, LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(value)));
+        }
+    }
+
+    @Test
+    void percentilesAreWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(Duration.ofMillis(millis));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertWithin(500, histogram.getValueAtPercentile(50));
+        assertWithin(990, histogram.getValueAtPercentile(99));
+        assertWithin(1000, histogram.getValueAtPercentile(100));
+        assertWithin(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    void clampsOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+        histogram.record(-5);
+        assertEquals(Duration.ZERO, histogram.getValueAtPercentile(100));
+
+        histogram.record(Duration.ofDays(30));
+        assertTrue(histogram.getValueAtPercentile(100).compareTo(Duration.ofHours(19)) > 0);
+        assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    void samplesAgeOutAfterTwoWindows() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMillis(20));
+        histogram.record(Duration.ofMillis(5));
+
+        Thread.sleep(30);
+        assertEquals(1, histogram.getCount());
+        Thread.sleep(30);
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1));
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.startVirtualThread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(Duration.ofMillis(10));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, histogram.getCount());
+        assertWithin(10, histogram.getValueAtPercentile(50));
+    }
+
+    private static void assertWithin(long expectedMillis, Duration actual) {
+        double millis = actual.toNanos() / 1_000_000.0;
+        assertTrue(millis >= expectedMillis * 0.99 && millis <= expectedMillis * 1.07,
+            "expected about " + expectedMillis + " ms but was " + millis);
+    }
+}
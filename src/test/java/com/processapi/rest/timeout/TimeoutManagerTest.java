@@ -0,0 +1,109 @@
+package com.processapi.rest.timeout;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeoutManagerTest {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static TimeoutManager timeoutManager(int maxOperations) {
+        return new TimeoutManager(DEFAULT_TIMEOUT, 99.0, 0.5, Duration.ofMillis(100), Duration.ofSeconds(30), maxOperations);
+    }
+
+    private static void record(TimeoutManager timeoutManager, String operation, Duration latency, int times) {
+        for (int i = 0; i < times; i++) {
+            timeoutManager.recordOperation(operation, latency, false);
+        }
+    }
+
+    @Test
+    void usesTheDefaultTimeoutUntilThereAreEnoughSamples() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        record(timeoutManager, "GET /orders", Duration.ofMillis(200), 19);
+
+        assertEquals(DEFAULT_TIMEOUT, timeoutManager.getTimeout("GET /orders"));
+        assertFalse(timeoutManager.getLatencyPercentile("GET /orders", 99).isPresent());
+        assertEquals(DEFAULT_TIMEOUT.toMillis(),
+            timeoutManager.getRequestConfig("GET /orders").getResponseTimeout().toMilliseconds());
+    }
+
+    @Test
+    void derivesTheTimeoutFromThePercentileWithHeadroom() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        record(timeoutManager, "GET /orders", Duration.ofMillis(1000), 32);
+
+        long timeout = timeoutManager.getTimeout("GET /orders").toMillis();
+        assertTrue(timeout >= 1500 && timeout <= 1500 * 1.07, "timeout " + timeout);
+        assertEquals(timeout, timeoutManager.getRequestConfig("GET /orders").getResponseTimeout().toMilliseconds());
+        assertEquals(timeout, timeoutManager.getRequestConfig("GET /orders").getConnectionRequestTimeout().toMilliseconds());
+    }
+
+    @Test
+    void clampsTheDerivedTimeout() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        record(timeoutManager, "GET /fast", Duration.ofMillis(1), 32);
+        record(timeoutManager, "GET /slow", Duration.ofSeconds(60), 32);
+
+        assertEquals(Duration.ofMillis(100), timeoutManager.getTimeout("GET /fast"));
+        assertEquals(Duration.ofSeconds(30), timeoutManager.getTimeout("GET /slow"));
+    }
+
+    @Test
+    void timeoutRecomputesAtOnceAfterATimeout() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        record(timeoutManager, "GET /orders", Duration.ofMillis(1000), 20);
+        assertEquals(DEFAULT_TIMEOUT, timeoutManager.getTimeout("GET /orders"));
+
+        timeoutManager.recordOperation("GET /orders", Duration.ofMillis(1000), true);
+        assertTrue(timeoutManager.getTimeout("GET /orders").toMillis() < DEFAULT_TIMEOUT.toMillis());
+        assertEquals(21, timeoutManager.getRequestCount());
+        assertEquals(1, timeoutManager.getTimeoutCount());
+    }
+
+    @Test
+    void pathsThatDifferOnlyByIdShareOneOperation() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        for (int id = 0; id < 40; id++) {
+            timeoutManager.recordOperation("GET /orders/" + id, Duration.ofMillis(1000), false);
+        }
+
+        assertEquals(1, timeoutManager.getOperationCount());
+        assertTrue(timeoutManager.getLatencyPercentile("GET /orders/12345", 99).isPresent());
+        assertSame(timeoutManager.getRequestConfig("GET /orders/1"), timeoutManager.getRequestConfig("GET /orders/2"));
+        assertSame(timeoutManager.getRequestConfig("GET /orders/6f1c2b7e-0d4a-4e7b-9d3f-1a2b3c4d5e6f"),
+            timeoutManager.getRequestConfig("GET /orders/7"));
+    }
+
+    @Test
+    void methodsAreTrackedSeparately() {
+        TimeoutManager timeoutManager = timeoutManager(100);
+        record(timeoutManager, "GET /orders/1", Duration.ofMillis(1000), 32);
+
+        assertEquals(1, timeoutManager.getOperationCount());
+        assertEquals(DEFAULT_TIMEOUT, timeoutManager.getTimeout("POST /orders/1"));
+        assertEquals(2, timeoutManager.getOperationCount());
+    }
+
+    @Test
+    void pathsBeyondTheCapShareAnOverflowOperation() {
+        TimeoutManager timeoutManager = timeoutManager(2);
+        timeoutManager.getTimeout("GET /a");
+        timeoutManager.getTimeout("GET /b");
+        record(timeoutManager, "GET /c", Duration.ofMillis(1000), 20);
+
+        assertEquals(3, timeoutManager.getOperationCount());
+        assertTrue(timeoutManager.getLatencyPercentile("GET /d", 99).isPresent());
+        assertFalse(timeoutManager.getLatencyPercentile("GET /a", 99).isPresent());
+
+        for (int i = 0; i < 1000; i++) {
+            timeoutManager.getTimeout("GET /path" + i);
+        }
+        assertEquals(3, timeoutManager.getOperationCount());
+    }
+}
@@ -0,0 +1,32 @@
+package com.processapi.rest.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PathTemplatesTest {
+
+    @Test
+    void replacesNumericSegments() {
+        assertEquals("/orders/{id}/items/{id}", PathTemplates.template("/orders/42/items/7"));
+    }
+
+    @Test
+    void replacesUuidAndLongHexSegments() {
+        assertEquals("/users/{id}", PathTemplates.template("/users/6f1c2b7e-0d4a-4e7b-9d3f-1a2b3c4d5e6f"));
+        assertEquals("/blobs/{id}", PathTemplates.template("/blobs/deadbeefcafebabe"));
+    }
+
+    @Test
+    void keepsWordsAndShortHexSegments() {
+        assertEquals("/orders/search", PathTemplates.template("/orders/search"));
+        assertEquals("/v2/cafe", PathTemplates.template("/v2/cafe"));
+    }
+
+    @Test
+    void keepsEmptySegments() {
+        assertEquals("/", PathTemplates.template("/"));
+        assertEquals("", PathTemplates.template(""));
+        assertEquals("/orders/", PathTemplates.template("/orders/"));
+    }
+}